@@ -0,0 +1,25 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the MST benchmarks with the GC profiler attached, so every result
+ * carries allocation rate ({@code gc.alloc.rate.norm}) next to throughput
+ * and average time. An optional argument narrows the benchmarks by regex.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "bench\\..*MSTBenchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(org.openjdk.jmh.results.format.ResultFormatType.JSON)
+                .result("results/jmh_results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import algo.KruskalMST;
+import algo.PrimMST;
+import io.GraphInput;
+import io.JsonGraphLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prim vs Kruskal over every graph of a {@code data/*.json} dataset.
+ * Run from the project root so the data directory resolves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatasetMSTBenchmark {
+
+    @Param({"small", "medium", "large", "extralarge"})
+    public String dataset;
+
+    private List<GraphInput> graphs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graphs = new ArrayList<>();
+        try (JsonGraphLoader loader = JsonGraphLoader.open(Paths.get("data", dataset + ".json"))) {
+            while (loader.hasNext()) graphs.add(loader.next());
+        }
+    }
+
+    @Benchmark
+    public void prim(Blackhole bh) {
+        for (GraphInput g : graphs) bh.consume(new PrimMST(g.graph()));
+    }
+
+    @Benchmark
+    public void kruskal(Blackhole bh) {
+        for (GraphInput g : graphs) bh.consume(new KruskalMST(g.graph()));
+    }
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import algo.CsrGraph;
+import algo.DynamicMST;
+import algo.KruskalMST;
+import gen.GraphGenerator;
+import gen.GraphGenerator.Topology;
+import gen.GraphGenerator.Weights;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one edge update: {@link DynamicMST} insert + delete versus
+ * rebuilding the graph and rerunning Kruskal from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicMSTBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    @Param({"8"})
+    public int avgDegree;
+
+    private CsrGraph graph;
+    private DynamicMST dynamic;
+    private SplittableRandom random;
+
+    // edge list of the graph plus one spare slot for the updated edge
+    private int[] from, to;
+    private double[] weight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.generate(Topology.SPARSE, vertices, (long) vertices * avgDegree / 2, Weights.UNIFORM, 42L);
+        dynamic = new DynamicMST(graph, new KruskalMST(graph).edges());
+        random = new SplittableRandom(7);
+
+        int E = graph.E();
+        from = new int[E + 1];
+        to = new int[E + 1];
+        weight = new double[E + 1];
+        for (int e = 0; e < E; e++) {
+            from[e] = graph.from(e);
+            to[e] = graph.to(e);
+            weight[e] = graph.weight(e);
+        }
+    }
+
+    /** Insert a random edge, then delete it again (state is unchanged afterwards). */
+    @Benchmark
+    public double dynamicUpdate() {
+        int id = dynamic.insert(random.nextInt(vertices), random.nextInt(vertices), random.nextDouble() * 100.0);
+        double w = dynamic.weight();
+        dynamic.delete(id);
+        return w;
+    }
+
+    /** Same change applied by rebuilding the graph and recomputing the MST. */
+    @Benchmark
+    public double fullRecomputation() {
+        int E = graph.E();
+        from[E] = random.nextInt(vertices);
+        to[E] = random.nextInt(vertices);
+        weight[E] = random.nextDouble() * 100.0;
+        CsrGraph changed = CsrGraph.fromEdgeList(vertices, E + 1,
+                Arrays.copyOf(from, E + 1), Arrays.copyOf(to, E + 1), Arrays.copyOf(weight, E + 1));
+        return new KruskalMST(changed).weight();
+    }
+}
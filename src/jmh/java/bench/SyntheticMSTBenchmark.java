@@ -0,0 +1,63 @@
+package bench;
+
+import algo.CsrGraph;
+import algo.KruskalMST;
+import algo.PrimMST;
+import gen.GraphGenerator;
+import gen.GraphGenerator.Topology;
+import gen.GraphGenerator.Weights;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prim vs Kruskal on seeded graphs from {@link GraphGenerator}, parameterized
+ * by topology, size, density (average degree) and weight distribution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticMSTBenchmark {
+
+    @Param({"SPARSE", "GRID", "POWER_LAW", "GEOMETRIC"})
+    public Topology topology;
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    @Param({"4", "16", "64"})
+    public int avgDegree;
+
+    @Param({"UNIFORM", "INTEGER", "DUPLICATE"})
+    public Weights weights;
+
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.generate(topology, vertices, (long) vertices * avgDegree / 2, weights, 42L);
+    }
+
+    @Benchmark
+    public PrimMST prim() {
+        return new PrimMST(graph);
+    }
+
+    @Benchmark
+    public PrimMST primForest() {
+        return new PrimMST(graph, PrimMST.Heap.AUTO, null, PrimMST.Mode.FOREST);
+    }
+
+    @Benchmark
+    public KruskalMST kruskal() {
+        return new KruskalMST(graph);
+    }
+
+    @Benchmark
+    public KruskalMST kruskalParallel() {
+        return new KruskalMST(graph, KruskalMST.Variant.PARALLEL);
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent graph jobs on a bounded worker pool.
+ *
+ * - at most {@code parallelism} jobs execute at once
+ * - at most {@code 2 * parallelism} jobs are in flight, so a streaming
+ *   source is never read far ahead of the workers
+ * - results are handed to the sink on the calling thread in submission
+ *   order, so output files stay deterministic
+ *
+ * Each job measures its own timings on its worker thread, so concurrent
+ * jobs compete for cores. Jobs that need uncontended timings can hold
+ * {@link #timedSection()} around the part they time: those sections then
+ * run one at a time instead of overlapping.
+ */
+public class BatchExecutor implements AutoCloseable {
+    private final ExecutorService pool;
+    private final int window;
+    private final Lock timed = new ReentrantLock(true);
+
+    public BatchExecutor(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "mst-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.window = 2 * parallelism;
+    }
+
+    /** Returns the lock jobs hold while running a timed section. */
+    public Lock timedSection() {
+        return timed;
+    }
+
+    /** Runs every job from {@code jobs} and passes the results to {@code sink} in order. */
+    public <T> void run(Iterator<? extends Callable<T>> jobs, Consumer<? super T> sink) {
+        ArrayDeque<Future<T>> inFlight = new ArrayDeque<>();
+        while (jobs.hasNext() || !inFlight.isEmpty()) {
+            while (inFlight.size() < window && jobs.hasNext()) {
+                inFlight.add(pool.submit(jobs.next()));
+            }
+            sink.accept(await(inFlight.poll()));
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a graph job", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Graph job failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,310 @@
+import com.google.gson.stream.JsonWriter;
+import gen.GraphGenerator;
+import gen.GraphGenerator.Topology;
+import gen.GraphGenerator.Weights;
+import io.GraphInput;
+import io.GraphResult;
+import io.JsonGraphLoader;
+import io.ResultWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident MST service: keeps the engines loaded and JIT-compiled between jobs
+ * instead of paying JVM start-up and warm-up on every run of {@link Main}.
+ *
+ * Jobs arrive two ways, each handled on its own virtual thread:
+ *  - a local TCP socket speaking newline-delimited JSON: every request line is
+ *    one graph object as in the dataset files ({@code {"id", "nodes", "edges"}}),
+ *    answered with one line holding the per-graph result object of
+ *    {@code <dataset>_output.json} plus {@code "latency_ms"}; the line
+ *    {@code STATS} returns request count and latency percentiles
+ *  - a spool directory watched with a {@link WatchService}: every
+ *    {@code *.json} dataset dropped there (write elsewhere, then move it in)
+ *    is processed into {@code out/<name>_output.json} and
+ *    {@code out/<name>_summary.csv}, then moved to {@code done/}
+ *    (or {@code failed/})
+ *
+ * Before accepting jobs the engines are warmed up on a generated graph, so
+ * the first requests already run compiled code. Latency is measured per graph
+ * from parsing the request to having the response ready.
+ *
+ * Start with {@code java Main --serve [port] [--spool DIR] [--verify]}.
+ */
+public final class MSTServer implements Closeable {
+    public static final int DEFAULT_PORT = 7313;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int LATENCY_WINDOW = 1 << 16;   // latest samples kept for percentiles
+
+    private final ServerSocket server;
+    private final Path spool;                 // null: no spool directory
+    private final WatchService watcher;       // null without a spool directory
+    private final boolean verify;
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Path> spooling = ConcurrentHashMap.newKeySet();   // spool files being processed
+
+    // latency ring of the latest samples, in nanoseconds
+    private final long[] latency = new long[LATENCY_WINDOW];
+    private long requests;
+
+    /**
+     * Binds the socket on the loopback interface and prepares the spool directory.
+     * @param port TCP port, or 0 for any free port
+     * @param spool directory to watch for datasets, or null
+     * @param verify check every MST with the verifier
+     * @param warmupRounds rounds of every engine on a generated graph before serving
+     */
+    public MSTServer(int port, Path spool, boolean verify, int warmupRounds) throws IOException {
+        this.spool = spool;
+        this.verify = verify;
+        warmUp(warmupRounds);
+        server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        if (spool != null) {
+            for (String dir : new String[]{"out", "done", "failed"}) Files.createDirectories(spool.resolve(dir));
+            watcher = spool.getFileSystem().newWatchService();
+            spool.register(watcher, StandardWatchEventKinds.ENTRY_CREATE);   // a move into the directory is a create
+        } else {
+            watcher = null;
+        }
+    }
+
+    /** Returns the port the server listens on. */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /** Starts accepting connections and watching the spool directory; returns immediately. */
+    public void start() throws IOException {
+        threads.submit(this::acceptLoop);
+        if (watcher != null) {
+            // datasets that arrived while the server was down
+            try (DirectoryStream<Path> pending = Files.newDirectoryStream(spool, "*.json")) {
+                for (Path file : pending) threads.submit(() -> processSpoolFile(file));
+            }
+            threads.submit(this::watchLoop);
+        }
+    }
+
+    /**
+     * Answers one request line: a graph object, or {@code STATS}.
+     * Errors are answered with {@code {"error": "..."}} and never close the connection.
+     */
+    String handle(String line) {
+        if (line.trim().equalsIgnoreCase("STATS")) return stats();
+        long start = System.nanoTime();
+        try {
+            GraphInput input = JsonGraphLoader.parseGraph(new StringReader(line));
+            GraphResult result = Main.processGraph("server", input, verify, ProcessOptions.NONE);
+            StringWriter out = new StringWriter();
+            JsonWriter json = new JsonWriter(out);
+            json.beginObject();
+            ResultWriter.writeFields(json, result, true);
+            long nanos = System.nanoTime() - start;
+            json.name("latency_ms").value(nanos / 1_000_000.0);
+            json.endObject();
+            json.close();
+            record(nanos);
+            return out.toString();
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Returns {@code {"requests", "p50_ms", "p90_ms", "p99_ms", "max_ms"}} over the
+     * latest {@value #LATENCY_WINDOW} graphs.
+     */
+    synchronized String stats() {
+        int n = (int) Math.min(requests, LATENCY_WINDOW);
+        long[] sorted = Arrays.copyOf(latency, n);
+        Arrays.sort(sorted);
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject();
+            json.name("requests").value(requests);
+            json.name("p50_ms").value(percentile(sorted, 0.50));
+            json.name("p90_ms").value(percentile(sorted, 0.90));
+            json.name("p99_ms").value(percentile(sorted, 0.99));
+            json.name("max_ms").value(n == 0 ? 0.0 : sorted[n - 1] / 1_000_000.0);
+            json.endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);   // StringWriter does not fail
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.close();
+            if (watcher != null) watcher.close();
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                threads.submit(() -> serve(client));
+            } catch (IOException e) {
+                if (!server.isClosed()) System.err.println("accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // one connection: request lines in, response lines out, in order
+    private void serve(Socket client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                out.write(handle(line));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("connection closed: " + e.getMessage());
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    Path file = spool.resolve((Path) event.context());
+                    if (file.getFileName().toString().endsWith(".json")) threads.submit(() -> processSpoolFile(file));
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // server closed
+        }
+    }
+
+    // one dataset file from the spool directory, written like a dataset of Main
+    private void processSpoolFile(Path file) {
+        if (!spooling.add(file)) return;   // seen by both the start-up scan and the watcher
+        String name = file.getFileName().toString();
+        String dataset = name.substring(0, name.length() - ".json".length());
+        Path out = spool.resolve("out");
+        try {
+            try (JsonGraphLoader loader = JsonGraphLoader.open(file);
+                 ResultWriter writer = new ResultWriter(out, out.resolve(dataset + "_summary.csv"))) {
+                writer.beginDataset(dataset);
+                while (loader.hasNext()) {
+                    long start = System.nanoTime();
+                    GraphResult result = Main.processGraph(dataset, loader.next(), verify, ProcessOptions.NONE);
+                    writer.write(result);
+                    record(System.nanoTime() - start);
+                }
+            }
+            Files.move(file, spool.resolve("done").resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            System.err.println("spool " + name + ": " + e.getMessage());
+            try {
+                Files.move(file, spool.resolve("failed").resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveFailed) {
+                System.err.println("spool " + name + ": " + moveFailed.getMessage());
+            }
+        } finally {
+            spooling.remove(file);
+        }
+    }
+
+    // run every engine a few times so request handling starts on compiled code
+    private void warmUp(int rounds) {
+        if (rounds <= 0) return;
+        long start = System.nanoTime();
+        GraphInput input = new GraphInput(0, null,
+                GraphGenerator.generate(Topology.SPARSE, 20_000, 80_000, Weights.UNIFORM, 42));
+        try {
+            for (int i = 0; i < rounds; i++) Main.processGraph("warmup", input, verify, ProcessOptions.NONE);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up failed", e);
+        }
+        System.out.printf(Locale.ROOT, "Warm-up: %d rounds in %.1f ms%n", rounds, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private synchronized void record(long nanos) {
+        latency[(int) (requests % LATENCY_WINDOW)] = nanos;
+        requests++;
+    }
+
+    // nearest-rank percentile of sorted samples, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    private static String error(Exception e) {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject();
+            json.name("error").value(e.getMessage() != null ? e.getMessage() : e.toString());
+            json.endObject();
+        } catch (IOException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Runs the server until the process is stopped:
+     * {@code --serve [port] [--spool DIR] [--verify]}.
+     */
+    static void serve(String[] args) throws IOException, InterruptedException {
+        int at = Arrays.asList(args).indexOf("--serve");
+        int port = at + 1 < args.length && !args[at + 1].startsWith("--") ? Integer.parseInt(args[at + 1]) : DEFAULT_PORT;
+        int spoolAt = Arrays.asList(args).indexOf("--spool");
+        Path spool = spoolAt >= 0 && spoolAt + 1 < args.length ? Paths.get(args[spoolAt + 1]) : null;
+        boolean verify = Arrays.asList(args).contains("--verify");
+
+        MSTServer server = new MSTServer(port, spool, verify, WARMUP_ROUNDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Latency: " + server.stats());
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("MST server on 127.0.0.1:" + server.port() + (spool != null ? ", spool " + spool : ""));
+        server.threads.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+}
@@ -1,156 +1,452 @@
+import algo.BottleneckIndex;
+import algo.BoruvkaMST;
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import algo.EdgeStream;
+import algo.ExternalKruskalMST;
+import algo.GraphStats;
 import algo.KruskalMST;
+import algo.MSTSelector;
+import algo.MSTMetrics.Phase;
+import algo.MSTVerifier;
 import algo.PrimMST;
-import com.google.gson.*;
+import algo.VertexOrdering;
 import edu.princeton.cs.algs4.Edge;
-import edu.princeton.cs.algs4.EdgeWeightedGraph;
+import gen.GraphSpec;
+import gen.SyntheticSource;
+import io.AlgorithmResult;
+import io.BinaryGraphFormat;
+import io.BottleneckQueries;
+import io.GraphInput;
+import io.GraphResult;
+import io.GraphSource;
+import io.JsonGraphLoader;
+import io.ResultCache;
+import io.ResultWriter;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Main program for Assignment 3: MST algorithms comparison.
  *
- * Reads JSON input from multiple files (small, medium, large, extralarge),
- * computes MSTs using Prim's and Kruskal's algorithms,
+ * Streams JSON input from multiple files (small, medium, large, extralarge),
+ * computes MSTs using Prim's, Kruskal's and (parallel) Borůvka's algorithms,
  * writes detailed results per dataset to JSON,
  * and generates a single global summary CSV file across all inputs.
+ * Both are streamed by {@link ResultWriter} as each graph finishes, so memory
+ * stays flat however many graphs a run has.
+ *
+ * Graphs are processed concurrently on a bounded pool ({@code --threads N});
+ * results are still written in input order. Engine runs of different graphs
+ * overlap, so Execution_Time_ms includes contention for cores; with
+ * {@code --exclusive-timing} the timed runs take turns
+ * ({@link BatchExecutor#timedSection()}) and only loading, verification and
+ * output overlap. {@code --verify} checks every MST with {@link MSTVerifier}
+ * and records the outcome per algorithm.
+ * {@code --binary} loads the memory-mapped binary form of each dataset
+ * (see {@link BinaryGraphFormat}) instead of parsing JSON.
+ * {@code --external [DIR]} adds external-memory Kruskal ({@link ExternalKruskalMST})
+ * with the bytes it reads and writes, spilling sorted runs under DIR (default: the
+ * system temporary directory); combined with {@code --binary} it streams each graph's
+ * edges from the binary file instead of the loaded graph. {@code --external-only [DIR]}
+ * runs external Kruskal alone on the binary datasets without loading any graph's edges,
+ * so graphs larger than the heap can be processed (only labels and the MST are kept).
+ * {@code --adaptive} runs only the engine that {@link MSTSelector} predicts to be
+ * fastest for each graph (plus, on every tenth graph, an exploration run of another
+ * engine), calibrated from {@code selector_samples.csv}, to which every run appends
+ * its freshly computed results.
+ * {@code --cache} reuses results of earlier runs on the same graph content from
+ * {@link ResultCache} in {@code results/cache} instead of recomputing them.
+ * {@code --queries FILE} answers the bottleneck queries in FILE (see {@link BottleneckQueries})
+ * with a {@link BottleneckIndex} over the first MST of each graph they name.
+ * {@code --reorder bfs|rcm|degree} renumbers the vertices of every graph for
+ * memory locality ({@link VertexOrdering}) before the algorithms run; the time
+ * is reported as the REORDER phase and output keeps the original labels.
+ * {@code --serve [port] [--spool DIR]} starts the resident {@link MSTServer} instead.
+ * {@code --synthetic [spec,...]} replaces the datasets with generated graphs
+ * (see {@link GraphSpec}), so V and E can be swept far beyond the data files.
+ * Prim and Kruskal additionally report a "metrics" breakdown (heap, sort and
+ * union-find counters plus per-phase times) collected by {@link CountingMetrics}.
  */
 public class Main {
 
-    public static void main(String[] args) throws IOException {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (Arrays.asList(args).contains("--serve")) {
+            MSTServer.serve(args);
+            return;
+        }
         String[] inputs = {"small", "medium", "large", "extralarge"};
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        int threads = parseThreads(args);
+        boolean verify = Arrays.asList(args).contains("--verify");
+        boolean externalOnly = Arrays.asList(args).contains("--external-only");
+        boolean binary = externalOnly || Arrays.asList(args).contains("--binary");
+        boolean exclusiveTiming = Arrays.asList(args).contains("--exclusive-timing");
+        Path externalDir = parseExternal(args);
+        Map<String, List<GraphSpec>> synthetic = parseSynthetic(args);
+        if (synthetic != null) inputs = synthetic.keySet().toArray(new String[0]);
+        String globalCSV = "results/summary_all.csv";
+        Path samplesCSV = Paths.get("results", "selector_samples.csv");
+        MSTSelector selector = Arrays.asList(args).contains("--adaptive") ? loadSelector(samplesCSV) : null;
+        BottleneckQueries queries = parseQueries(args);
+        VertexOrdering ordering = parseOrdering(args);
+        if (externalOnly && (synthetic != null || ordering != null))
+            throw new IllegalArgumentException("--external-only reads binary datasets and cannot be combined with --synthetic or --reorder");
+        ResultCache cache = Arrays.asList(args).contains("--cache")
+                ? new ResultCache(Paths.get("results", "cache"), ResultCache.DEFAULT_MAX_BYTES) : null;
 
-        // общий список для всех результатов
-        List<JsonObject> allResults = new ArrayList<>();
+        // results go to disk as soon as each graph is done; generated graphs are too big to list MST edges
+        try (BatchExecutor batch = new BatchExecutor(threads);
+             ResultWriter writer = new ResultWriter(Paths.get("results"), Paths.get(globalCSV), synthetic == null, samplesCSV)) {
+            for (String file : inputs) {
+                writer.beginDataset(file);
 
-        for (String file : inputs) {
-            String inputFile = "data/" + file + ".json";
-            String outputFile = "results/" + file + "_output.json";
+                // stream graphs one at a time; graphs are independent, so run them in parallel
+                try (GraphSource loader = synthetic != null
+                        ? new SyntheticSource(synthetic.get(file)) : openSource(file, binary)) {
+                    // external Kruskal streams binary datasets from the file itself (ids must stay unpermuted)
+                    BinaryGraphFormat.Reader edgeFile = externalDir != null && ordering == null
+                            && loader instanceof BinaryGraphFormat.Reader reader ? reader : null;
+                    ProcessOptions options = ProcessOptions.NONE
+                            .withEngines(exclusiveTiming ? batch.timedSection() : null)
+                            .withExternalDir(externalDir).withSelector(selector).withCache(cache).withQueries(queries);
+                    Iterator<Callable<GraphResult>> jobs = new Iterator<>() {
+                        private int index;   // position of the next graph in the dataset
+                        public boolean hasNext() { return loader.hasNext(); }
+                        public Callable<GraphResult> next() {
+                            GraphInput loaded = externalOnly ? edgeFile.nextUnloaded() : loader.next();
+                            int graph = index++;
+                            Callable<EdgeStream> edges = edgeFile != null ? () -> edgeFile.edges(graph) : null;
+                            return () -> processGraph(file, ordering != null ? loaded.reorder(ordering) : loaded,
+                                    verify, options.withExternalEdges(edges));
+                        }
+                    };
+                    batch.run(jobs, result -> {
+                        try {
+                            writer.write(result);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
 
-            JsonObject root = gson.fromJson(Files.newBufferedReader(Paths.get(inputFile)), JsonObject.class);
-            JsonArray graphs = root.getAsJsonArray("graphs");
+                writer.endDataset();
+                System.out.println("JSON saved for dataset: " + file);
+            }
+        } finally {
+            if (externalDir != null) Files.deleteIfExists(externalDir);   // run files are already gone
+        }
+        System.out.println("Global summary saved to: " + globalCSV);
+        if (cache != null)
+            System.out.printf("Result cache: %d hits, %d misses (hit rate %.1f%%), %d entries, %d bytes%n",
+                    cache.hits(), cache.misses(), 100.0 * cache.hitRate(), cache.size(), cache.bytes());
+    }
 
-            JsonArray datasetResults = new JsonArray();
+    /**
+     * Opens a dataset as a graph stream: the JSON file, or with {@code --binary}
+     * the memory-mapped {@code data/<name>.mstg}, converted once from JSON when
+     * missing or older than the JSON file.
+     */
+    private static GraphSource openSource(String dataset, boolean binary) throws IOException {
+        Path json = Paths.get("data", dataset + ".json");
+        if (!binary) return JsonGraphLoader.open(json);
 
-            for (JsonElement graphEl : graphs) {
-                JsonObject gObj = graphEl.getAsJsonObject();
-                int id = gObj.get("id").getAsInt();
-                JsonArray nodes = gObj.getAsJsonArray("nodes");
-                JsonArray edges = gObj.getAsJsonArray("edges");
+        Path bin = Paths.get("data", dataset + ".mstg");
+        if (!Files.exists(bin) || Files.getLastModifiedTime(bin).compareTo(Files.getLastModifiedTime(json)) < 0) {
+            BinaryGraphFormat.convert(json, bin, false);
+            System.out.println("Converted " + json + " to " + bin);
+        }
+        return BinaryGraphFormat.open(bin);
+    }
 
-                // --- Map node labels -> indices
-                Map<String, Integer> nodeIndex = new HashMap<>();
-                for (int i = 0; i < nodes.size(); i++) {
-                    nodeIndex.put(nodes.get(i).getAsString(), i);
-                }
+    /**
+     * Calibrates the adaptive selector from the samples every earlier run appended,
+     * or falls back to built-in coefficients.
+     */
+    private static MSTSelector loadSelector(Path samples) throws IOException {
+        MSTSelector selector = Files.exists(samples) ? MSTSelector.calibrate(samples) : MSTSelector.defaults();
+        System.out.print("Adaptive mode, cost model:\n" + selector);
+        return selector;
+    }
 
-                // --- Build graph
-                EdgeWeightedGraph graph = new EdgeWeightedGraph(nodes.size());
-                for (JsonElement eEl : edges) {
-                    JsonObject eObj = eEl.getAsJsonObject();
-                    int u = nodeIndex.get(eObj.get("from").getAsString());
-                    int v = nodeIndex.get(eObj.get("to").getAsString());
-                    double w = eObj.get("weight").getAsDouble();
-                    graph.addEdge(new Edge(u, v, w));
-                }
+    /**
+     * Reads {@code --synthetic [spec,spec,...]} (see {@link GraphSpec}; default: {@link GraphSpec#sweep})
+     * and groups the specs into one dataset per topology, named {@code synthetic_<topology>}.
+     * Returns null when the option is absent.
+     */
+    private static Map<String, List<GraphSpec>> parseSynthetic(String[] args) {
+        int at = Arrays.asList(args).indexOf("--synthetic");
+        if (at < 0) return null;
+        List<GraphSpec> specs = new ArrayList<>();
+        if (at + 1 < args.length && !args[at + 1].startsWith("--")) {
+            for (String spec : args[at + 1].split(",")) specs.add(GraphSpec.parse(spec.trim()));
+        } else {
+            specs = GraphSpec.sweep(GraphSpec.DEFAULT_SEED);
+        }
 
-                // --- Prepare per-graph result
-                JsonObject result = new JsonObject();
-                result.addProperty("dataset", file);
-                result.addProperty("graph_id", id);
-
-                JsonObject stats = new JsonObject();
-                stats.addProperty("vertices", graph.V());
-                stats.addProperty("edges", graph.E());
-                result.add("input_stats", stats);
-
-                // === Prim
-                long startPrim = System.nanoTime();
-                PrimMST prim = new PrimMST(graph);
-                long endPrim = System.nanoTime();
-                double timePrim = (endPrim - startPrim) / 1_000_000.0;
-
-                JsonObject primRes = new JsonObject();
-                primRes.add("mst_edges", mstEdgesToJson(prim.edges(), nodeIndex));
-                primRes.addProperty("total_cost", prim.weight());
-                primRes.addProperty("operations_count", prim.getOperationCount());
-                primRes.addProperty("execution_time_ms", timePrim);
-                result.add("prim", primRes);
-
-                // === Kruskal
-                long startKruskal = System.nanoTime();
-                KruskalMST kruskal = new KruskalMST(graph);
-                long endKruskal = System.nanoTime();
-                double timeKruskal = (endKruskal - startKruskal) / 1_000_000.0;
-
-                JsonObject kruskalRes = new JsonObject();
-                kruskalRes.add("mst_edges", mstEdgesToJson(kruskal.edges(), nodeIndex));
-                kruskalRes.addProperty("total_cost", kruskal.weight());
-                kruskalRes.addProperty("operations_count", kruskal.getOperationCount());
-                kruskalRes.addProperty("execution_time_ms", timeKruskal);
-                result.add("kruskal", kruskalRes);
-
-                datasetResults.add(result);
-                allResults.add(result);
-            }
+        Map<String, List<GraphSpec>> datasets = new LinkedHashMap<>();
+        for (GraphSpec spec : specs) {
+            String name = "synthetic_" + spec.topology().name().toLowerCase(Locale.ROOT);
+            datasets.computeIfAbsent(name, k -> new ArrayList<>()).add(spec);
+        }
+        return datasets;
+    }
+
+    /**
+     * Creates the spill directory of {@code --external [DIR]} or {@code --external-only [DIR]}:
+     * a fresh subdirectory of DIR, or of the system temporary directory (often tmpfs, i.e. RAM)
+     * without one. Returns null without either option.
+     */
+    private static Path parseExternal(String[] args) throws IOException {
+        int at = Arrays.asList(args).indexOf("--external");
+        if (at < 0) at = Arrays.asList(args).indexOf("--external-only");
+        if (at < 0) return null;
+        if (at + 1 < args.length && !args[at + 1].startsWith("--")) {
+            Path parent = Files.createDirectories(Paths.get(args[at + 1]));
+            return Files.createTempDirectory(parent, "mst-runs");
+        }
+        return Files.createTempDirectory("mst-runs");
+    }
 
-            // сохранить JSON для каждого набора
-            JsonObject outputRoot = new JsonObject();
-            outputRoot.add("results", datasetResults);
-            Files.createDirectories(Paths.get("results"));
-            Files.writeString(Paths.get(outputFile), gson.toJson(outputRoot));
+    /** Reads the query file of {@code --queries FILE}, or returns null without the option */
+    private static BottleneckQueries parseQueries(String[] args) throws IOException {
+        int at = Arrays.asList(args).indexOf("--queries");
+        if (at < 0) return null;
+        if (at + 1 >= args.length) throw new IllegalArgumentException("--queries needs a file");
+        BottleneckQueries queries = BottleneckQueries.read(Paths.get(args[at + 1]));
+        System.out.println("Loaded " + queries.size() + " bottleneck queries from " + args[at + 1]);
+        return queries;
+    }
+
+    /** Reads {@code --reorder bfs|rcm|degree}, or returns null without the option */
+    private static VertexOrdering parseOrdering(String[] args) {
+        int at = Arrays.asList(args).indexOf("--reorder");
+        if (at < 0) return null;
+        if (at + 1 >= args.length) throw new IllegalArgumentException("--reorder needs bfs, rcm or degree");
+        return VertexOrdering.parse(args[at + 1]);
+    }
 
-            System.out.println("JSON saved for dataset: " + file);
+    /** Reads the degree of graph-level parallelism from {@code --threads N} (default: all cores) */
+    private static int parseThreads(String[] args) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--threads")) return Integer.parseInt(args[i + 1]);
         }
+        return Runtime.getRuntime().availableProcessors();
+    }
 
-        // === записать единый CSV по всем результатам ===
-        String globalCSV = "results/summary_all.csv";
-        saveGlobalSummaryCSV(allResults, globalCSV);
-        System.out.println("Global summary saved to: " + globalCSV);
+    /**
+     * Runs every MST algorithm on one graph and collects its per-graph result.
+     * With {@code verify}, each result is checked by {@link MSTVerifier} (near-linear).
+     * The {@code options} add, when set:
+     * - an engines lock, held by every timed engine run, so concurrent graphs do not skew timings
+     * - an external directory: external-memory Kruskal also runs, spilling its sorted runs there;
+     *   it reads the external edges when given (e.g. straight from a binary file) instead of the graph
+     * - a selector: only the engine it picks for the graph runs
+     * - a cache: results of earlier runs on the same graph content are reused
+     * - queries: the bottleneck queries about this graph are answered on the first MST
+     * A graph whose edges were not loaded ({@link GraphInput#unloaded}) runs external Kruskal
+     * alone on the external edges, unverified and uncached.
+     */
+    static GraphResult processGraph(String dataset, GraphInput input, boolean verify, ProcessOptions options)
+            throws Exception {
+        Lock engines = options.engines();
+        Path externalDir = options.externalDir();
+        MSTSelector selector = options.selector();
+        ResultCache cache = options.cache();
+        BottleneckQueries queries = options.queries();
+        CsrGraph graph = input.graph();
+        List<AlgorithmResult> algorithms = new ArrayList<>();
+        if (graph == null) {
+            if (externalDir == null || options.externalEdges() == null)
+                throw new IllegalArgumentException("Graph " + input.id() + " has neither edges nor an edge stream");
+            algorithms.add(runExternal(input, false, engines, externalDir, options.externalEdges()));
+            return withQueries(dataset, input, algorithms, queries, null);
+        }
+        byte[] digest = cache != null ? ResultCache.digest(graph) : null;
+
+        Callable<AlgorithmResult> prim = () -> cached(cache, digest, "prim", "heap=AUTO", input, verify,
+                () -> runPrim(input, verify, engines));
+        Callable<AlgorithmResult> kruskal = () -> cached(cache, digest, "kruskal", "variant=CLASSIC", input, verify,
+                () -> runKruskal(input, verify, engines));
+        Callable<AlgorithmResult> boruvka = () -> cached(cache, digest, "boruvka", "", input, verify,
+                () -> runBoruvka(input, verify, engines));
+
+        GraphStats stats = null;
+        if (selector != null) {
+            stats = GraphStats.of(graph);
+            MSTSelector.Engine chosen = selector.select(stats);
+            algorithms.add(engine(chosen, prim, kruskal, boruvka).call());
+            MSTSelector.Engine exploration = selector.explore(chosen);   // a sample of an engine it rarely picks
+            if (exploration != null) algorithms.add(engine(exploration, prim, kruskal, boruvka).call());
+        } else {
+            algorithms.add(prim.call());
+            algorithms.add(kruskal.call());
+        }
+
+        // === Kruskal, external memory (sorted runs on disk)
+        if (externalDir != null) {
+            algorithms.add(cached(cache, digest, "kruskal_external", "runEdges=" + ExternalKruskalMST.DEFAULT_RUN_EDGES,
+                    input, verify, () -> runExternal(input, verify, engines, externalDir, options.externalEdges())));
+        }
+
+        if (selector == null) algorithms.add(boruvka.call());
+
+        // without a selector the component count comes from the spanning forest, with no extra pass
+        if (stats == null) {
+            int forestEdges = 0;
+            for (Edge ignored : algorithms.get(0).mstEdges()) forestEdges++;
+            stats = GraphStats.of(graph, graph.V() - forestEdges);
+        }
+        return withQueries(dataset, input, algorithms, queries, stats);
     }
 
-    /** Converts MST edges to JSON */
-    private static JsonArray mstEdgesToJson(Iterable<Edge> edges, Map<String, Integer> labelMap) {
-        JsonArray arr = new JsonArray();
-        Map<Integer, String> reverse = new HashMap<>();
-        for (Map.Entry<String, Integer> e : labelMap.entrySet()) reverse.put(e.getValue(), e.getKey());
-        for (Edge e : edges) {
-            JsonObject o = new JsonObject();
-            int v = e.either(), w = e.other(v);
-            o.addProperty("from", reverse.get(v));
-            o.addProperty("to", reverse.get(w));
-            o.addProperty("weight", e.weight());
-            arr.add(o);
-        }
-        return arr;
-    }
-
-    /** Writes one combined CSV file across all datasets */
-    public static void saveGlobalSummaryCSV(List<JsonObject> results, String path) throws IOException {
-        try (FileWriter writer = new FileWriter(path)) {
-            writer.write("Dataset,Graph_ID,Vertices,Edges,Algorithm,Total_Cost,Operations_Count,Execution_Time_ms\n");
-
-            for (JsonObject result : results) {
-                String dataset = result.get("dataset").getAsString();
-                int id = result.get("graph_id").getAsInt();
-                JsonObject stats = result.getAsJsonObject("input_stats");
-                int v = stats.get("vertices").getAsInt();
-                int e = stats.get("edges").getAsInt();
-
-                for (String algo : new String[]{"prim", "kruskal"}) {
-                    JsonObject algoRes = result.getAsJsonObject(algo);
-                    double cost = algoRes.get("total_cost").getAsDouble();
-                    long ops = algoRes.get("operations_count").getAsLong();
-                    double time = algoRes.get("execution_time_ms").getAsDouble();
-
-                    writer.write(String.format("%s,%d,%d,%d,%s,%.6f,%d,%.3f\n",
-                            dataset, id, v, e, algo, cost, ops, time));
-                }
+    private static Callable<AlgorithmResult> engine(MSTSelector.Engine engine, Callable<AlgorithmResult> prim,
+                                                    Callable<AlgorithmResult> kruskal, Callable<AlgorithmResult> boruvka) {
+        switch (engine) {
+            case PRIM: return prim;
+            case KRUSKAL: return kruskal;
+            case BORUVKA: default: return boruvka;
+        }
+    }
+
+    /** Collects the per-graph result, answering the {@code queries} about it on the first MST */
+    private static GraphResult withQueries(String dataset, GraphInput input, List<AlgorithmResult> algorithms,
+                                           BottleneckQueries queries, GraphStats stats) {
+        List<String[]> pairs = queries != null ? queries.forGraph(dataset, input.id()) : Collections.emptyList();
+        double[] answers = pairs.isEmpty() ? new double[0] : bottlenecks(input, algorithms.get(0), pairs);
+        return new GraphResult(dataset, input, algorithms, pairs, answers, stats);
+    }
+
+    /**
+     * Answers {from, to} label queries on one MST; NaN where a label is unknown
+     * or there is no path with edges between the endpoints.
+     */
+    private static double[] bottlenecks(GraphInput input, AlgorithmResult mst, List<String[]> pairs) {
+        BottleneckIndex index = new BottleneckIndex(input.V(), mst.mstEdges());
+
+        double[] answers = new double[pairs.size()];
+        for (int i = 0; i < answers.length; i++) {
+            int u = input.vertexOf(pairs.get(i)[0]), v = input.vertexOf(pairs.get(i)[1]);
+            double b = u < 0 || v < 0 ? Double.NaN : index.query(u, v);
+            answers[i] = Double.isInfinite(b) ? Double.NaN : b;
+        }
+        return answers;
+    }
+
+    /**
+     * Returns the cached result of {@code algorithm} with {@code params} on this graph content,
+     * or runs it and stores the result. A cached result that was never verified is verified
+     * now if {@code verify} is set. The load, build and reorder phases of a cached result are
+     * replaced by those of {@code input}, since they describe this run, not the one that was cached.
+     */
+    private static AlgorithmResult cached(ResultCache cache, byte[] digest, String algorithm, String params,
+                                          GraphInput input, boolean verify, Callable<AlgorithmResult> run) throws Exception {
+        if (cache == null) return run.call();
+        String key = ResultCache.key(digest, algorithm, params);
+        AlgorithmResult hit = cache.get(key);
+        if (hit == null) {
+            AlgorithmResult result = run.call();
+            cache.put(key, result);
+            return result;
+        }
+        if (hit.metrics() != null) {
+            CountingMetrics metrics = CountingMetrics.fromSnapshot(hit.metrics().snapshot());
+            metrics.setPhase(Phase.LOAD, input.loadNanos());
+            metrics.setPhase(Phase.BUILD, input.buildNanos());
+            metrics.setPhase(Phase.REORDER, input.reorderNanos());
+            hit = hit.withMetrics(metrics);
+        }
+        if (!verify) return hit.withVerified(null);
+        if (hit.verified() != null) return hit;
+        return hit.withVerified(MSTVerifier.verify(input.graph(), hit.mstEdges(), hit.totalCost()));
+    }
+
+    /** === Prim */
+    private static AlgorithmResult runPrim(GraphInput input, boolean verify, Lock engines) throws Exception {
+        CsrGraph graph = input.graph();
+        CountingMetrics primMetrics = loadMetrics(input);
+        long[] nanos = new long[1];
+        PrimMST prim = timed(engines, nanos, () -> new PrimMST(graph, PrimMST.Heap.AUTO, primMetrics));
+        double timePrim = nanos[0] / 1_000_000.0;
+        Boolean primVerified = verify ? timedVerify(graph, prim.edges(), prim.weight(), primMetrics) : null;
+        return new AlgorithmResult("prim", prim.edges(), prim.weight(), prim.getOperationCount(),
+                timePrim, primVerified, primMetrics);
+    }
+
+    /** === Kruskal */
+    private static AlgorithmResult runKruskal(GraphInput input, boolean verify, Lock engines) throws Exception {
+        CsrGraph graph = input.graph();
+        CountingMetrics kruskalMetrics = loadMetrics(input);
+        long[] nanos = new long[1];
+        KruskalMST kruskal = timed(engines, nanos, () -> new KruskalMST(graph, KruskalMST.Variant.CLASSIC, kruskalMetrics));
+        double timeKruskal = nanos[0] / 1_000_000.0;
+        Boolean kruskalVerified = verify ? timedVerify(graph, kruskal.edges(), kruskal.weight(), kruskalMetrics) : null;
+        return new AlgorithmResult("kruskal", kruskal.edges(), kruskal.weight(), kruskal.getOperationCount(),
+                timeKruskal, kruskalVerified, kruskalMetrics);
+    }
+
+    /** === Kruskal, external memory (sorted runs on disk), reading {@code edges} or else the in-memory graph */
+    private static AlgorithmResult runExternal(GraphInput input, boolean verify, Lock engines, Path externalDir,
+                                               Callable<EdgeStream> edges) throws Exception {
+        CsrGraph graph = input.graph();
+        CountingMetrics externalMetrics = loadMetrics(input);
+        long[] nanos = new long[1];
+        ExternalKruskalMST external = timed(engines, nanos, () -> {
+            try (EdgeStream stream = edges != null ? edges.call() : EdgeStream.of(graph)) {
+                return new ExternalKruskalMST(stream, externalDir, ExternalKruskalMST.DEFAULT_RUN_EDGES, externalMetrics);
             }
+        });
+        double timeExternal = nanos[0] / 1_000_000.0;
+        Boolean externalVerified = verify
+                ? timedVerify(graph, external.edges(), external.weight(), externalMetrics) : null;
+        return new AlgorithmResult("kruskal_external", external.edges(), external.weight(),
+                external.getOperationCount(), timeExternal, externalVerified, externalMetrics);
+    }
+
+    /** === Borůvka (parallel) */
+    private static AlgorithmResult runBoruvka(GraphInput input, boolean verify, Lock engines) throws Exception {
+        CsrGraph graph = input.graph();
+        long[] nanos = new long[1];
+        BoruvkaMST boruvka = timed(engines, nanos, () -> new BoruvkaMST(graph));
+        double timeBoruvka = nanos[0] / 1_000_000.0;
+        Boolean boruvkaVerified = verify ? MSTVerifier.verify(graph, boruvka.edges(), boruvka.weight()) : null;
+        return new AlgorithmResult("boruvka", boruvka.edges(), boruvka.weight(), boruvka.getOperationCount(),
+                timeBoruvka, boruvkaVerified, null);
+    }
+
+    /** Runs {@code engine} holding {@code lock} (if not null) and stores its wall time in {@code nanos[0]} */
+    private static <T> T timed(Lock lock, long[] nanos, Callable<T> engine) throws Exception {
+        if (lock != null) lock.lock();
+        try {
+            long start = System.nanoTime();
+            T result = engine.call();
+            nanos[0] = System.nanoTime() - start;
+            return result;
+        } finally {
+            if (lock != null) lock.unlock();
         }
     }
+
+    /** Creates a metrics collector that already holds the load and build times of the graph */
+    private static CountingMetrics loadMetrics(GraphInput input) {
+        CountingMetrics metrics = new CountingMetrics();
+        metrics.phase(Phase.LOAD, input.loadNanos());
+        metrics.phase(Phase.BUILD, input.buildNanos());
+        metrics.phase(Phase.REORDER, input.reorderNanos());
+        return metrics;
+    }
+
+    /** Runs {@link MSTVerifier} and records its time as the VERIFY phase */
+    private static boolean timedVerify(CsrGraph graph, Iterable<Edge> edges, double weight, CountingMetrics metrics) {
+        long start = System.nanoTime();
+        boolean ok = MSTVerifier.verify(graph, edges, weight);
+        metrics.phase(Phase.VERIFY, System.nanoTime() - start);
+        return ok;
+    }
 }
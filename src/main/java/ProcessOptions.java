@@ -0,0 +1,94 @@
+import algo.EdgeStream;
+import algo.MSTSelector;
+import io.BottleneckQueries;
+import io.ResultCache;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Optional collaborators of {@link Main#processGraph}; each is off (null) in {@link #NONE}.
+ * Instances are immutable: every {@code with...} method returns a copy with one setting changed.
+ *
+ * - engines: lock held around every timed engine run
+ * - externalDir: spill directory of external-memory Kruskal, which only runs with one
+ * - externalEdges: edges external Kruskal reads instead of the in-memory graph
+ * - selector: picks the single engine to run per graph
+ * - cache: results of earlier runs on the same graph content
+ * - queries: bottleneck queries answered on the first MST
+ */
+final class ProcessOptions {
+    static final ProcessOptions NONE = new ProcessOptions(null, null, null, null, null, null);
+
+    private final Lock engines;
+    private final Path externalDir;
+    private final Callable<EdgeStream> externalEdges;
+    private final MSTSelector selector;
+    private final ResultCache cache;
+    private final BottleneckQueries queries;
+
+    private ProcessOptions(Lock engines, Path externalDir, Callable<EdgeStream> externalEdges,
+                           MSTSelector selector, ResultCache cache, BottleneckQueries queries) {
+        this.engines = engines;
+        this.externalDir = externalDir;
+        this.externalEdges = externalEdges;
+        this.selector = selector;
+        this.cache = cache;
+        this.queries = queries;
+    }
+
+    Lock engines() {
+        return engines;
+    }
+
+    Path externalDir() {
+        return externalDir;
+    }
+
+    Callable<EdgeStream> externalEdges() {
+        return externalEdges;
+    }
+
+    MSTSelector selector() {
+        return selector;
+    }
+
+    ResultCache cache() {
+        return cache;
+    }
+
+    BottleneckQueries queries() {
+        return queries;
+    }
+
+    /** Returns these options with timed engine runs holding {@code engines}. */
+    ProcessOptions withEngines(Lock engines) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+
+    /** Returns these options with external Kruskal spilling to {@code externalDir}. */
+    ProcessOptions withExternalDir(Path externalDir) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+
+    /** Returns these options with external Kruskal reading {@code externalEdges}. */
+    ProcessOptions withExternalEdges(Callable<EdgeStream> externalEdges) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+
+    /** Returns these options with only the engine {@code selector} picks running. */
+    ProcessOptions withSelector(MSTSelector selector) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+
+    /** Returns these options reusing results from {@code cache}. */
+    ProcessOptions withCache(ResultCache cache) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+
+    /** Returns these options answering {@code queries}. */
+    ProcessOptions withQueries(BottleneckQueries queries) {
+        return new ProcessOptions(engines, externalDir, externalEdges, selector, cache, queries);
+    }
+}
@@ -0,0 +1,207 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel Borůvka MST on a {@link CsrGraph} with operation counting.
+ *
+ * Each round:
+ *  - scans the live edges in parallel (fork-join) and records, per component,
+ *    the cheapest outgoing edge with a CAS on a shared array
+ *  - contracts components by uniting the endpoints of every chosen edge
+ *    in a {@link ConcurrentUF}
+ *  - drops edges whose endpoints ended up in the same component
+ *
+ * Ties in weight are broken by edge id, so the chosen edges never form a cycle.
+ *
+ * Counts:
+ *  - edge scans
+ *  - calls to find() and union()
+ *  - successful additions to MST
+ */
+public class BoruvkaMST {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;   // edges/vertices per leaf task
+
+    private double weight;                        // weight of MST
+    private Queue<Edge> mst = new Queue<Edge>();  // edges in MST
+
+    // counter for key algorithmic operations (updated from worker threads)
+    private final LongAdder operationCount = new LongAdder();
+
+    /** Returns number of recorded operations */
+    public long getOperationCount() {
+        return operationCount.sum();
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of an edge-weighted graph.
+     * @param G the edge-weighted graph
+     */
+    public BoruvkaMST(EdgeWeightedGraph G) {
+        this(CsrGraph.from(G));
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) on the common fork-join pool.
+     * @param G the compact edge-weighted graph
+     */
+    public BoruvkaMST(CsrGraph G) {
+        this(G, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) with the given degree of parallelism.
+     * @param G the compact edge-weighted graph
+     * @param parallelism number of worker threads
+     */
+    public BoruvkaMST(CsrGraph G, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            run(G, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assert MSTVerifier.verify(G, edges(), weight());
+    }
+
+    private BoruvkaMST(CsrGraph G, ForkJoinPool pool) {
+        run(G, pool);
+        assert MSTVerifier.verify(G, edges(), weight());
+    }
+
+    private void run(CsrGraph G, ForkJoinPool pool) {
+        int V = G.V();
+        ConcurrentUF uf = new ConcurrentUF(V);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(V);   // component root -> edge id
+        boolean[] inMst = new boolean[G.E()];
+
+        // live edges: self-loops can never be in the MST
+        int[] live = new int[G.E()];
+        int n = 0;
+        for (int e = 0; e < G.E(); e++)
+            if (G.from(e) != G.to(e)) live[n++] = e;
+
+        while (n > 0) {
+            final int[] edges = live;
+            final int count = n;
+
+            // phase 1: cheapest outgoing edge of every component
+            for (int v = 0; v < V; v++) cheapest.set(v, -1);
+            pool.invoke(new Range(0, count, (lo, hi) -> {
+                long ops = 0;
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    int ru = uf.find(G.from(e)), rv = uf.find(G.to(e));
+                    ops += 3; // edge scan + two find() calls
+                    if (ru == rv) continue;
+                    offer(G, cheapest, ru, e);
+                    offer(G, cheapest, rv, e);
+                }
+                operationCount.add(ops);
+            }));
+
+            // phase 2: contract along the chosen edges
+            pool.invoke(new Range(0, V, (lo, hi) -> {
+                long ops = 0;
+                for (int r = lo; r < hi; r++) {
+                    int e = cheapest.get(r);
+                    if (e < 0) continue;
+                    ops++; // one union()
+                    if (uf.union(G.from(e), G.to(e))) {
+                        inMst[e] = true;   // only the linking call marks e
+                        ops++; // successful edge addition
+                    }
+                }
+                operationCount.add(ops);
+            }));
+
+            // phase 3: drop edges that became internal to a component
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int e = edges[i];
+                if (uf.find(G.from(e)) != uf.find(G.to(e))) live[kept++] = e;
+            }
+            operationCount.add(2L * count);
+            if (kept == count) break;   // no component had an outgoing edge
+            n = kept;
+        }
+
+        for (int e = 0; e < G.E(); e++) {
+            if (inMst[e]) {
+                mst.enqueue(G.toEdge(e));
+                weight += G.weight(e);
+            }
+        }
+    }
+
+    // record e as the cheapest edge leaving component r if it beats the current one
+    private static void offer(CsrGraph G, AtomicIntegerArray cheapest, int r, int e) {
+        while (true) {
+            int cur = cheapest.get(r);
+            if (cur >= 0 && !less(G, e, cur)) return;
+            if (cheapest.compareAndSet(r, cur, e)) return;
+        }
+    }
+
+    // strict total order on edges: by weight, then by id
+    private static boolean less(CsrGraph G, int e, int f) {
+        double we = G.weight(e), wf = G.weight(f);
+        return we < wf || (we == wf && e < f);
+    }
+
+    /** Body of a parallel loop over an index range. */
+    private interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    /** Splits [lo, hi) in halves until it is small enough to run sequentially. */
+    private static final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+        private final transient RangeBody body;   // tasks are never serialized
+
+        Range(int lo, int hi, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SEQUENTIAL_THRESHOLD) {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Range(lo, mid, body), new Range(mid, hi, body));
+        }
+    }
+
+    /** Returns the edges in a minimum spanning tree (or forest). */
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    /** Returns the sum of the edge weights in a minimum spanning tree (or forest). */
+    public double weight() {
+        return weight;
+    }
+
+    /** Unit test for manual verification */
+    public static void main(String[] args) {
+        In in = new In(args[0]);
+        EdgeWeightedGraph G = new EdgeWeightedGraph(in);
+        BoruvkaMST mst = new BoruvkaMST(G);
+        for (Edge e : mst.edges()) {
+            StdOut.println(e);
+        }
+        StdOut.printf("Weight: %.5f\n", mst.weight());
+        StdOut.printf("Operations: %d\n", mst.getOperationCount());
+    }
+}
@@ -0,0 +1,205 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Bottleneck (minimax) path queries on a minimum spanning forest.
+ *
+ * The bottleneck between u and v, the smallest possible maximum edge weight
+ * over all u-v paths in the graph, is the heaviest edge on the u-v path of
+ * any minimum spanning forest. The index is built once from the forest edges:
+ *  - a Kruskal reconstruction tree: tree edges are merged in weight order and
+ *    every merge becomes a new internal node carrying the edge weight, so the
+ *    bottleneck of u and v is the weight of their lowest common ancestor
+ *  - a sparse table over the preorder of that tree, which answers each LCA
+ *    with two table lookups
+ *
+ * Building takes O(V log V) time and memory; a query takes O(1) and never
+ * touches the graph. The index is immutable, so queries may run concurrently.
+ *
+ * Counts:
+ *  - tree nodes merged while building
+ */
+public class BottleneckIndex {
+    private static final int PARALLEL_BATCH = 1 << 14;   // batches at least this large run in parallel
+
+    private final int V;
+    private final double[] value;    // value[x] = weight of internal node x, unused for leaves
+    private final int[] parent;      // parent[x] in the reconstruction tree, -1 at a root
+    private final int[] tree;        // tree[x] = root of the tree containing x
+    private final int[] tin;         // preorder index of every node
+    private final int[][] table;     // table[k][i] = node of smallest tin among parents of order[i .. i + 2^k)
+
+    private long operationCount = 0;
+
+    /** Returns number of recorded operations */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Builds the index from a minimum spanning tree (or forest).
+     * @param V number of vertices of the graph
+     * @param mst edges of a minimum spanning forest, e.g. {@code PrimMST.edges()}
+     * @throws IllegalArgumentException if the edges contain a cycle
+     */
+    public BottleneckIndex(int V, Iterable<Edge> mst) {
+        if (V < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        this.V = V;
+
+        // tree edges in weight order
+        int k = 0;
+        for (Edge ignored : mst) k++;
+        int[] from = new int[k], to = new int[k];
+        double[] weight = new double[k];
+        int[] ids = new int[k];
+        k = 0;
+        for (Edge e : mst) {
+            int v = e.either();
+            validateVertex(v);
+            validateVertex(e.other(v));
+            from[k] = v;
+            to[k] = e.other(v);
+            weight[k] = e.weight();
+            ids[k] = k;
+            k++;
+        }
+        EdgeSort.sort(ids, weight);
+
+        // Kruskal reconstruction tree: node V + i joins the two trees that edge i connects
+        int N = V + k;
+        value = new double[N];
+        parent = new int[N];
+        int[] left = new int[k], right = new int[k];
+        Arrays.fill(parent, -1);
+        UnionFind uf = new UnionFind(V);
+        int[] top = new int[V];            // top[r] = tree node of the set whose UF root is r
+        for (int v = 0; v < V; v++) top[v] = v;
+        for (int i = 0; i < k; i++) {
+            int e = ids[i];
+            int ru = uf.find(from[e]), rv = uf.find(to[e]);
+            if (ru == rv) throw new IllegalArgumentException("Edges contain a cycle at " + from[e] + "-" + to[e]);
+            int node = V + i;
+            value[node] = weight[e];
+            left[i] = top[ru];
+            right[i] = top[rv];
+            parent[left[i]] = node;
+            parent[right[i]] = node;
+            uf.union(ru, rv);
+            top[uf.find(ru)] = node;
+            operationCount++; // one merge
+        }
+
+        // preorder of every tree, iteratively (the tree may be V deep)
+        tin = new int[N];
+        tree = new int[N];
+        int[] order = new int[N];
+        int[] stack = new int[N];
+        int time = 0;
+        for (int root = 0; root < N; root++) {
+            if (parent[root] >= 0) continue;
+            int sp = 0;
+            stack[sp++] = root;
+            while (sp > 0) {
+                int x = stack[--sp];
+                tin[x] = time;
+                order[time++] = x;
+                tree[x] = root;
+                if (x >= V) {
+                    stack[sp++] = right[x - V];
+                    stack[sp++] = left[x - V];
+                }
+            }
+        }
+
+        // sparse table over the parents in preorder; LCA(u, v) is the shallowest of them in (tin[u], tin[v]]
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(N, 1));
+        table = new int[levels][];
+        table[0] = new int[N];
+        for (int i = 0; i < N; i++) table[0][i] = parent[order[i]];
+        for (int j = 1; j < levels; j++) {
+            int half = 1 << (j - 1);
+            int[] prev = table[j - 1];
+            int[] cur = table[j] = new int[N - (1 << j) + 1];
+            for (int i = 0; i < cur.length; i++) cur[i] = shallower(prev[i], prev[i + half]);
+        }
+    }
+
+    /** Builds the index from a graph's MST, computed with {@link KruskalMST}. */
+    public BottleneckIndex(CsrGraph G) {
+        this(G.V(), new KruskalMST(G).edges());
+    }
+
+    /**
+     * Returns the bottleneck weight between {@code u} and {@code v}: the maximum
+     * edge weight on the best path between them, {@code +Infinity} if they are not
+     * connected and {@code -Infinity} if {@code u == v} (a path without edges).
+     */
+    public double query(int u, int v) {
+        validateVertex(u);
+        validateVertex(v);
+        if (u == v) return Double.NEGATIVE_INFINITY;
+        if (tree[u] != tree[v]) return Double.POSITIVE_INFINITY;
+        return value[lca(u, v)];
+    }
+
+    /** Returns true if {@code u} and {@code v} are in the same tree of the forest. */
+    public boolean connected(int u, int v) {
+        validateVertex(u);
+        validateVertex(v);
+        return tree[u] == tree[v];
+    }
+
+    /** Answers {@code query(from[i], to[i])} for every i; large batches run in parallel. */
+    public double[] query(int[] from, int[] to) {
+        if (from.length != to.length) throw new IllegalArgumentException("from and to differ in length");
+        double[] answers = new double[from.length];
+        IntStream range = IntStream.range(0, from.length);
+        if (from.length >= PARALLEL_BATCH) range = range.parallel();
+        range.forEach(i -> answers[i] = query(from[i], to[i]));
+        return answers;
+    }
+
+    /** Returns the number of vertices. */
+    public int V() {
+        return V;
+    }
+
+    // lowest common ancestor of two distinct nodes of the same tree
+    private int lca(int u, int v) {
+        int l = Math.min(tin[u], tin[v]) + 1, r = Math.max(tin[u], tin[v]);
+        int j = 31 - Integer.numberOfLeadingZeros(r - l + 1);
+        return shallower(table[j][l], table[j][r - (1 << j) + 1]);
+    }
+
+    // the node earlier in preorder; among the parents in a preorder range that is their common ancestor
+    private int shallower(int x, int y) {
+        if (x < 0) return y;
+        if (y < 0) return x;
+        return tin[x] <= tin[y] ? x : y;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    /**
+     * Unit test for manual verification: {@code java algo.BottleneckIndex graph.txt queries.txt},
+     * where every line of the query file holds two vertex ids.
+     */
+    public static void main(String[] args) {
+        In in = new In(args[0]);
+        EdgeWeightedGraph G = new EdgeWeightedGraph(in);
+        BottleneckIndex index = new BottleneckIndex(G.V(), new KruskalMST(G).edges());
+        In queries = new In(args[1]);
+        while (!queries.isEmpty()) {
+            int u = queries.readInt(), v = queries.readInt();
+            StdOut.printf("%d-%d %.5f\n", u, v, index.query(u, v));
+        }
+        StdOut.printf("Operations: %d\n", index.getOperationCount());
+    }
+}
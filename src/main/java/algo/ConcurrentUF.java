@@ -0,0 +1,66 @@
+package algo;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find over an {@code int} parent array.
+ *
+ * - {@code find} uses path splitting with best-effort CAS writes and never blocks
+ * - {@code union} links the root with the larger index below the one with the
+ *   smaller index via CAS, retrying if another thread moved either root
+ *
+ * Linking by index keeps the parent relation acyclic under concurrency;
+ * path splitting keeps the trees shallow in practice. Parent indices strictly
+ * decrease along every path, so {@code find(p)} finishes within p steps no
+ * matter what other threads do (wait-free).
+ */
+public final class ConcurrentUF {
+    private final AtomicIntegerArray parent;
+
+    /** Creates {@code n} singleton sets {0}, ..., {n - 1}. */
+    public ConcurrentUF(int n) {
+        if (n < 0) throw new IllegalArgumentException("Number of elements must be non-negative");
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    /** Returns the number of elements. */
+    public int size() {
+        return parent.length();
+    }
+
+    /** Returns the current root of the set containing {@code p}. */
+    public int find(int p) {
+        while (true) {
+            int q = parent.get(p);
+            if (q == p) return p;
+            int r = parent.get(q);
+            if (q != r) parent.compareAndSet(p, q, r);   // path splitting
+            p = q;
+        }
+    }
+
+    /** Returns true if {@code p} and {@code q} are (already) in the same set. */
+    public boolean connected(int p, int q) {
+        while (true) {
+            int rp = find(p), rq = find(q);
+            if (rp == rq) return true;
+            if (parent.get(rp) == rp) return false;   // rp still a root: answer is linearizable
+        }
+    }
+
+    /**
+     * Merges the sets containing {@code p} and {@code q}.
+     * Returns true if this call performed the link, false if they were already connected.
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            int rp = find(p), rq = find(q);
+            if (rp == rq) return false;
+            if (rp < rq) {
+                int t = rp; rp = rq; rq = t;
+            }
+            if (parent.compareAndSet(rp, rp, rq)) return true;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package algo;
+
+import java.util.Arrays;
+
+/**
+ * {@link MSTMetrics} collector with plain counters.
+ * Not thread-safe: attach one instance per engine run.
+ */
+public final class CountingMetrics implements MSTMetrics {
+    private static final int COUNTERS = 10;    // plain counters in snapshot()
+
+    private long heapInserts;
+    private long decreaseKeys;
+    private long delMins;
+    private long sortComparisons;
+    private long finds;
+    private long findPathLength;
+    private long unions;
+    private long rejectedEdges;
+    private long bytesRead;
+    private long bytesWritten;
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    @Override
+    public void heapInsert() {
+        heapInserts++;
+    }
+
+    @Override
+    public void decreaseKey() {
+        decreaseKeys++;
+    }
+
+    @Override
+    public void delMin() {
+        delMins++;
+    }
+
+    @Override
+    public void sortComparisons(long n) {
+        sortComparisons += n;
+    }
+
+    @Override
+    public void findPath(int length) {
+        finds++;
+        findPathLength += length;
+    }
+
+    @Override
+    public void union() {
+        unions++;
+    }
+
+    @Override
+    public void rejectedEdge() {
+        rejectedEdges++;
+    }
+
+    @Override
+    public void bytesRead(long bytes) {
+        bytesRead += bytes;
+    }
+
+    @Override
+    public void bytesWritten(long bytes) {
+        bytesWritten += bytes;
+    }
+
+    @Override
+    public void heapInserts(long count) {
+        heapInserts += count;
+    }
+
+    @Override
+    public void decreaseKeys(long count) {
+        decreaseKeys += count;
+    }
+
+    @Override
+    public void delMins(long count) {
+        delMins += count;
+    }
+
+    @Override
+    public void findPaths(long count, long totalLength) {
+        finds += count;
+        findPathLength += totalLength;
+    }
+
+    @Override
+    public void unions(long count) {
+        unions += count;
+    }
+
+    @Override
+    public void rejectedEdges(long count) {
+        rejectedEdges += count;
+    }
+
+    @Override
+    public void phase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /** Replaces the time recorded for {@code phase}, e.g. the load time of a result reused from an earlier run. */
+    public void setPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] = nanos;
+    }
+
+    /** Adds everything {@code counts} recorded, e.g. on a worker thread with its own collector. */
+    public void merge(CountingMetrics counts) {
+        heapInserts += counts.heapInserts;
+        decreaseKeys += counts.decreaseKeys;
+        delMins += counts.delMins;
+        sortComparisons += counts.sortComparisons;
+        finds += counts.finds;
+        findPathLength += counts.findPathLength;
+        unions += counts.unions;
+        rejectedEdges += counts.rejectedEdges;
+        bytesRead += counts.bytesRead;
+        bytesWritten += counts.bytesWritten;
+        for (int p = 0; p < phaseNanos.length; p++) phaseNanos[p] += counts.phaseNanos[p];
+    }
+
+    /** Reports everything recorded here to another collector through its bulk hooks. */
+    public void replay(MSTMetrics target) {
+        if (heapInserts > 0) target.heapInserts(heapInserts);
+        if (decreaseKeys > 0) target.decreaseKeys(decreaseKeys);
+        if (delMins > 0) target.delMins(delMins);
+        if (sortComparisons > 0) target.sortComparisons(sortComparisons);
+        if (finds > 0) target.findPaths(finds, findPathLength);
+        if (unions > 0) target.unions(unions);
+        if (rejectedEdges > 0) target.rejectedEdges(rejectedEdges);
+        if (bytesRead > 0) target.bytesRead(bytesRead);
+        if (bytesWritten > 0) target.bytesWritten(bytesWritten);
+        for (Phase phase : Phase.values())
+            if (phaseNanos[phase.ordinal()] > 0) target.phase(phase, phaseNanos[phase.ordinal()]);
+    }
+
+    public long heapInserts() {
+        return heapInserts;
+    }
+
+    public long decreaseKeys() {
+        return decreaseKeys;
+    }
+
+    public long delMins() {
+        return delMins;
+    }
+
+    public long sortComparisons() {
+        return sortComparisons;
+    }
+
+    /** Number of union-find lookups. */
+    public long finds() {
+        return finds;
+    }
+
+    /** Total parent links walked by all union-find lookups. */
+    public long findPathLength() {
+        return findPathLength;
+    }
+
+    public long unions() {
+        return unions;
+    }
+
+    public long rejectedEdges() {
+        return rejectedEdges;
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /** Time spent in {@code phase}, in milliseconds. */
+    public double phaseMillis(Phase phase) {
+        return phaseNanos[phase.ordinal()] / 1_000_000.0;
+    }
+
+    /** Returns all counters followed by the phase times in nanoseconds, for {@link #fromSnapshot}. */
+    public long[] snapshot() {
+        long[] values = new long[COUNTERS + phaseNanos.length];
+        long[] counters = {heapInserts, decreaseKeys, delMins, sortComparisons, finds, findPathLength,
+                unions, rejectedEdges, bytesRead, bytesWritten};
+        System.arraycopy(counters, 0, values, 0, COUNTERS);
+        System.arraycopy(phaseNanos, 0, values, COUNTERS, phaseNanos.length);
+        return values;
+    }
+
+    /** Rebuilds a collector from {@link #snapshot()}; missing trailing values are zero. */
+    public static CountingMetrics fromSnapshot(long[] values) {
+        long[] v = Arrays.copyOf(values, COUNTERS + Phase.values().length);
+        CountingMetrics m = new CountingMetrics();
+        m.heapInserts = v[0];
+        m.decreaseKeys = v[1];
+        m.delMins = v[2];
+        m.sortComparisons = v[3];
+        m.finds = v[4];
+        m.findPathLength = v[5];
+        m.unions = v[6];
+        m.rejectedEdges = v[7];
+        m.bytesRead = v[8];
+        m.bytesWritten = v[9];
+        System.arraycopy(v, COUNTERS, m.phaseNanos, 0, m.phaseNanos.length);
+        return m;
+    }
+}
@@ -0,0 +1,229 @@
+package algo;
+
+import edu.princeton.cs.algs4.Edge;
+import edu.princeton.cs.algs4.EdgeWeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Compact edge-weighted undirected graph in compressed-sparse-row (CSR) form.
+ *
+ * Stores:
+ *  - the edge list as three parallel primitive arrays (from, to, weight)
+ *  - the adjacency of every vertex as a contiguous slice of
+ *    {@code targets}/{@code edgeIds}, delimited by {@code offsets}
+ *
+ * No per-edge objects are created, so MST engines can run on millions
+ * of edges without the allocation and pointer chasing of {@link EdgeWeightedGraph}.
+ * Adjacency slices are laid out in reverse insertion order, which matches the
+ * iteration order of algs4's {@code Bag}, so algorithms visit edges in the same
+ * order as on the equivalent {@link EdgeWeightedGraph}.
+ */
+public final class CsrGraph {
+    private final int V;
+    private final int E;
+
+    private final int[] from;        // from[e] = first endpoint of edge e
+    private final int[] to;          // to[e] = second endpoint of edge e
+    private final double[] weight;   // weight[e] = weight of edge e
+
+    private final int[] offsets;     // adjacency of v is [offsets[v], offsets[v + 1])
+    private final int[] targets;     // targets[i] = neighbour at adjacency slot i
+    private final int[] edgeIds;     // edgeIds[i] = edge id at adjacency slot i
+
+    private CsrGraph(int V, int E, int[] from, int[] to, double[] weight) {
+        this.V = V;
+        this.E = E;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+
+        // count degrees (a self-loop appears twice in the adjacency of its vertex)
+        offsets = new int[V + 1];
+        for (int e = 0; e < E; e++) {
+            offsets[from[e] + 1]++;
+            offsets[to[e] + 1]++;
+        }
+        for (int v = 0; v < V; v++)
+            offsets[v + 1] += offsets[v];
+
+        // fill each slice from its end so that slots follow reverse insertion order
+        targets = new int[2 * E];
+        edgeIds = new int[2 * E];
+        int[] cursor = Arrays.copyOfRange(offsets, 1, V + 1);
+        for (int e = 0; e < E; e++) {
+            int i = --cursor[from[e]];
+            targets[i] = to[e];
+            edgeIds[i] = e;
+            int j = --cursor[to[e]];
+            targets[j] = from[e];
+            edgeIds[j] = e;
+        }
+    }
+
+    /**
+     * Builds a graph from an edge list held in primitive arrays.
+     * The arrays are used as-is (not copied) and must have at least {@code E} entries.
+     */
+    public static CsrGraph fromEdgeList(int V, int E, int[] from, int[] to, double[] weight) {
+        if (V < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        if (E < 0 || E > from.length || E > to.length || E > weight.length)
+            throw new IllegalArgumentException("Edge count does not match edge arrays: " + E);
+        for (int e = 0; e < E; e++) {
+            validateVertex(from[e], V);
+            validateVertex(to[e], V);
+        }
+        return new CsrGraph(V, E, from, to, weight);
+    }
+
+    /** Converts an algs4 graph, preserving its {@code edges()} order as edge ids. */
+    public static CsrGraph from(EdgeWeightedGraph G) {
+        Builder builder = new Builder(G.V(), G.E());
+        for (Edge e : G.edges()) {
+            int v = e.either();
+            builder.addEdge(v, e.other(v), e.weight());
+        }
+        return builder.build();
+    }
+
+    private static void validateVertex(int v, int V) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    /** Returns the number of vertices. */
+    public int V() {
+        return V;
+    }
+
+    /** Returns the number of edges. */
+    public int E() {
+        return E;
+    }
+
+    /** Returns the first endpoint of edge {@code e}. */
+    public int from(int e) {
+        return from[e];
+    }
+
+    /** Returns the second endpoint of edge {@code e}. */
+    public int to(int e) {
+        return to[e];
+    }
+
+    /** Returns the endpoint of edge {@code e} different from {@code v}. */
+    public int other(int e, int v) {
+        return from[e] == v ? to[e] : from[e];
+    }
+
+    /** Returns the weight of edge {@code e}. */
+    public double weight(int e) {
+        return weight[e];
+    }
+
+    // the weight array itself, indexed by edge id (not a copy; do not modify)
+    double[] weights() {
+        return weight;
+    }
+
+    /** Returns the degree of vertex {@code v}. */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /** First adjacency slot of {@code v}; iterate {@code i} in [{@code begin(v)}, {@code end(v)}). */
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /** One past the last adjacency slot of {@code v}. */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    /** Returns the neighbour stored at adjacency slot {@code i}. */
+    public int target(int i) {
+        return targets[i];
+    }
+
+    /** Returns the edge id stored at adjacency slot {@code i}. */
+    public int edgeId(int i) {
+        return edgeIds[i];
+    }
+
+    /** Materializes edge {@code e} as an algs4 {@link Edge} (used for MST output only). */
+    public Edge toEdge(int e) {
+        return new Edge(from[e], to[e], weight[e]);
+    }
+
+    /** Converts back to an algs4 graph (for verification and legacy code paths). */
+    public EdgeWeightedGraph toEdgeWeightedGraph() {
+        EdgeWeightedGraph G = new EdgeWeightedGraph(V);
+        for (int e = 0; e < E; e++)
+            G.addEdge(toEdge(e));
+        return G;
+    }
+
+    /**
+     * Returns this graph with vertex {@code v} renamed {@code perm[v]} (see {@link VertexOrdering}).
+     * Edge ids and weights are unchanged, so per-edge results carry over as they are.
+     */
+    public CsrGraph permute(int[] perm) {
+        if (perm.length != V) throw new IllegalArgumentException("Permutation length " + perm.length + " != V " + V);
+        int[] pf = new int[E], pt = new int[E];
+        for (int e = 0; e < E; e++) {
+            pf[e] = perm[from[e]];
+            pt[e] = perm[to[e]];
+        }
+        return new CsrGraph(V, E, pf, pt, weight);
+    }
+
+    /**
+     * Incrementally collects edges into growable primitive arrays.
+     */
+    public static final class Builder {
+        private final int V;
+        private int E;
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+
+        public Builder(int V) {
+            this(V, 16);
+        }
+
+        public Builder(int V, int expectedEdges) {
+            if (V < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+            int capacity = Math.max(expectedEdges, 1);
+            this.V = V;
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new double[capacity];
+        }
+
+        /** Adds the undirected edge v-w and returns its edge id. */
+        public int addEdge(int v, int w, double edgeWeight) {
+            validateVertex(v, V);
+            validateVertex(w, V);
+            if (E == from.length) {
+                int capacity = from.length * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[E] = v;
+            to[E] = w;
+            weight[E] = edgeWeight;
+            return E++;
+        }
+
+        /** Returns the number of edges added so far. */
+        public int E() {
+            return E;
+        }
+
+        public CsrGraph build() {
+            return new CsrGraph(V, E, from, to, weight);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.util.Arrays;
+
+/**
+ * Minimum spanning forest maintained under edge insertions and deletions.
+ *
+ * The forest lives in a {@link LinkCutTree} in which every tree edge is a
+ * node of its own carrying the edge weight, so the heaviest edge on any
+ * tree path is found in O(log V) amortized time.
+ *
+ *  - insert v-u: if v and u are in different trees the edge is linked;
+ *    otherwise it replaces the heaviest edge on the tree path v..u if lighter
+ *  - delete a non-tree edge: nothing changes in the forest
+ *  - delete a tree edge: the tree is cut and the lightest non-tree edge
+ *    reconnecting the two halves (if any) is linked in
+ *
+ * Every vertex keeps a primitive incidence list of its edges. The replacement
+ * search walks the two halves of the cut tree in lockstep and stops as soon as
+ * one of them is exhausted; only the non-tree edges of that smaller half are
+ * examined, and an edge crosses the cut exactly when its other endpoint is
+ * not marked as part of the half. A delete therefore costs the size of the
+ * smaller half and its incident edges, never a scan of all non-tree edges.
+ *
+ * Counts:
+ *  - link-cut tree operations (connected, pathMax, link, cut)
+ *  - vertices and edges visited during replacement searches
+ */
+public class DynamicMST {
+    private final int V;
+    private final LinkCutTree lct;       // nodes 0..V-1 are vertices, V..2V-2 are tree-edge slots
+    private final int[] slotEdge;        // slotEdge[s] = edge id held by tree-edge slot V + s, or -1
+    private int freeSlots;               // slots 0..freeSlots-1 of freeSlot[] are unused
+    private final int[] freeSlot;
+
+    // edge store, indexed by edge id
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private double[] w = new double[16];
+    private int[] slot = new int[16];    // tree-edge slot of a tree edge, -1 for non-tree edges
+    private boolean[] alive = new boolean[16];
+    private int[] posFrom = new int[16]; // index of the edge in from's incidence list
+    private int[] posTo = new int[16];   // index of the edge in to's incidence list
+    private int E;                       // number of edge ids handed out
+
+    // incidence lists of live edges (self-loops excluded): incident[v][0 .. degree[v])
+    private final int[][] incident;
+    private final int[] degree;
+
+    // replacement search: seen[v] == stamp marks v as reached from one half
+    private final int[] seen;
+    private final int[] queueA;
+    private final int[] queueB;
+    private int stamp;
+
+    private double weight;               // weight of the current forest
+    private long operationCount = 0;
+
+    /** Returns number of recorded operations */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Seeds the structure with a graph and a minimum spanning forest of it.
+     * Graph edge {@code e} keeps id {@code e}; each MST edge is matched to a
+     * graph edge with the same endpoints and weight, found in the incidence
+     * list of its lower-degree endpoint.
+     * @param G the compact edge-weighted graph
+     * @param mst edges of a minimum spanning forest of {@code G}
+     */
+    public DynamicMST(CsrGraph G, Iterable<Edge> mst) {
+        this(G.V());
+        for (int e = 0; e < G.E(); e++) newEdge(G.from(e), G.to(e), G.weight(e));
+
+        for (Edge t : mst) {
+            int v = t.either(), u = t.other(v);
+            validateVertex(v);
+            validateVertex(u);
+            int x = degree[v] <= degree[u] ? v : u;
+            int id = -1;
+            for (int i = 0; i < degree[x] && id < 0; i++) {
+                int f = incident[x][i];
+                if (slot[f] < 0 && other(f, x) == (x == v ? u : v) && Double.compare(w[f], t.weight()) == 0) id = f;
+            }
+            if (id < 0) throw new IllegalArgumentException("MST edge not found in graph: " + t);
+            if (lct.connected(v, u)) throw new IllegalArgumentException("MST edges contain a cycle at " + t);
+            linkTree(id);
+        }
+    }
+
+    /**
+     * Seeds the structure with an algs4 graph and a minimum spanning forest of it.
+     * Edge ids follow the order of {@code G.edges()}.
+     */
+    public DynamicMST(EdgeWeightedGraph G, Iterable<Edge> mst) {
+        this(CsrGraph.from(G), mst);
+    }
+
+    /** Creates an empty forest on {@code V} vertices. */
+    public DynamicMST(int V) {
+        if (V < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        this.V = V;
+        int slots = Math.max(V - 1, 0);
+        lct = new LinkCutTree(V + slots);
+        slotEdge = new int[slots];
+        freeSlot = new int[slots];
+        for (int s = 0; s < slots; s++) {
+            slotEdge[s] = -1;
+            freeSlot[s] = slots - 1 - s;
+        }
+        freeSlots = slots;
+        incident = new int[V][];
+        degree = new int[V];
+        seen = new int[V];
+        queueA = new int[V];
+        queueB = new int[V];
+    }
+
+    /**
+     * Inserts the edge v-u and returns its id.
+     * The forest changes only if the new edge is lighter than the heaviest
+     * edge on the tree path it closes (or joins two trees).
+     */
+    public int insert(int v, int u, double edgeWeight) {
+        validateVertex(v);
+        validateVertex(u);
+        int id = newEdge(v, u, edgeWeight);
+        if (v == u) return id;              // self-loops never enter the forest
+
+        operationCount++; // connected()
+        if (!lct.connected(v, u)) {
+            linkTree(id);
+            return id;
+        }
+
+        operationCount++; // pathMax()
+        int heaviest = slotEdge[lct.pathMax(v, u) - V];
+        if (less(id, heaviest)) {
+            cutTree(heaviest);
+            linkTree(id);
+        }
+        return id;
+    }
+
+    /** Deletes the edge with the given id, repairing the forest if it was a tree edge. */
+    public void delete(int id) {
+        if (id < 0 || id >= E || !alive[id]) throw new IllegalArgumentException("No live edge with id " + id);
+        alive[id] = false;
+        if (from[id] != to[id]) {
+            detach(id, from[id], posFrom[id]);
+            detach(id, to[id], posTo[id]);
+        }
+        if (slot[id] < 0) return;
+
+        cutTree(id);
+        int replacement = replacement(from[id], to[id]);
+        if (replacement >= 0) linkTree(replacement);
+    }
+
+    /** Returns true if the edge with the given id is currently in the forest. */
+    public boolean inTree(int id) {
+        return id >= 0 && id < E && alive[id] && slot[id] >= 0;
+    }
+
+    /** Returns the edges in the current minimum spanning forest. */
+    public Iterable<Edge> edges() {
+        Queue<Edge> mst = new Queue<Edge>();
+        for (int s = 0; s < slotEdge.length; s++) {
+            int e = slotEdge[s];
+            if (e >= 0) mst.enqueue(new Edge(from[e], to[e], w[e]));
+        }
+        return mst;
+    }
+
+    /** Returns the sum of the edge weights in the current forest. */
+    public double weight() {
+        return weight;
+    }
+
+    /*
+     * Lightest non-tree edge between the two trees just split off at a and b,
+     * or -1. Both trees are searched breadth-first in lockstep until one is
+     * exhausted; non-tree edges leaving that smaller tree cross the cut, since
+     * before the cut every non-tree edge lay within one tree.
+     */
+    private int replacement(int a, int b) {
+        if (stamp > Integer.MAX_VALUE - 2) {
+            Arrays.fill(seen, 0);
+            stamp = 0;
+        }
+        int stampA = ++stamp, stampB = ++stamp;
+        int headA = 0, tailA = 0, headB = 0, tailB = 0;
+        seen[a] = stampA;
+        queueA[tailA++] = a;
+        seen[b] = stampB;
+        queueB[tailB++] = b;
+        int[] side;
+        int size, mark;
+        while (true) {
+            if (headA == tailA) { side = queueA; size = tailA; mark = stampA; break; }
+            tailA = expand(queueA[headA++], stampA, queueA, tailA);
+            if (headB == tailB) { side = queueB; size = tailB; mark = stampB; break; }
+            tailB = expand(queueB[headB++], stampB, queueB, tailB);
+        }
+
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            int v = side[i];
+            for (int j = 0; j < degree[v]; j++) {
+                int f = incident[v][j];
+                operationCount++; // one edge examined
+                if (slot[f] < 0 && seen[other(f, v)] != mark && (best < 0 || less(f, best))) best = f;
+            }
+        }
+        return best;
+    }
+
+    // queue the unseen tree neighbours of v; returns the new queue tail
+    private int expand(int v, int mark, int[] queue, int tail) {
+        operationCount++; // one vertex visited
+        for (int j = 0; j < degree[v]; j++) {
+            int f = incident[v][j];
+            if (slot[f] < 0) continue;
+            int x = other(f, v);
+            if (seen[x] != mark) {
+                seen[x] = mark;
+                queue[tail++] = x;
+            }
+        }
+        return tail;
+    }
+
+    private int newEdge(int v, int u, double edgeWeight) {
+        if (E == from.length) {
+            int capacity = 2 * E;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            w = Arrays.copyOf(w, capacity);
+            slot = Arrays.copyOf(slot, capacity);
+            alive = Arrays.copyOf(alive, capacity);
+            posFrom = Arrays.copyOf(posFrom, capacity);
+            posTo = Arrays.copyOf(posTo, capacity);
+        }
+        from[E] = v;
+        to[E] = u;
+        w[E] = edgeWeight;
+        slot[E] = -1;
+        alive[E] = true;
+        if (v != u) {
+            posFrom[E] = attach(E, v);
+            posTo[E] = attach(E, u);
+        }
+        return E++;
+    }
+
+    // append edge e to v's incidence list; returns its index there
+    private int attach(int e, int v) {
+        int[] list = incident[v];
+        if (list == null) list = incident[v] = new int[4];
+        else if (degree[v] == list.length) list = incident[v] = Arrays.copyOf(list, 2 * list.length);
+        list[degree[v]] = e;
+        return degree[v]++;
+    }
+
+    // remove edge e from v's incidence list at index i, moving the last entry into its place
+    private void detach(int e, int v, int i) {
+        int last = incident[v][--degree[v]];
+        incident[v][i] = last;
+        if (last == e) return;
+        if (from[last] == v) posFrom[last] = i;
+        else posTo[last] = i;
+    }
+
+    // endpoint of edge e other than v
+    private int other(int e, int v) {
+        return from[e] == v ? to[e] : from[e];
+    }
+
+    // put edge e into the forest as a fresh link-cut tree node between its endpoints
+    private void linkTree(int e) {
+        int s = freeSlot[--freeSlots];
+        int node = V + s;
+        slot[e] = s;
+        slotEdge[s] = e;
+        lct.setValue(node, w[e]);
+        lct.link(from[e], node);
+        lct.link(node, to[e]);
+        operationCount += 2; // two link()
+        weight += w[e];
+    }
+
+    // remove tree edge e from the forest and release its slot
+    private void cutTree(int e) {
+        int s = slot[e];
+        int node = V + s;
+        lct.cut(from[e], node);
+        lct.cut(node, to[e]);
+        lct.setValue(node, Double.NEGATIVE_INFINITY);
+        operationCount += 2; // two cut()
+        freeSlot[freeSlots++] = s;
+        slotEdge[s] = -1;
+        slot[e] = -1;
+        weight -= w[e];
+    }
+
+    // strict total order on edges: by weight, then by id
+    private boolean less(int e, int f) {
+        return w[e] < w[f] || (w[e] == w[f] && e < f);
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+}
@@ -0,0 +1,135 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts edge ids by (weight, id) without comparing {@link edu.princeton.cs.algs4.Edge} objects.
+ *
+ * Every id is paired with the order-preserving 64-bit image of its exact
+ * {@code double} weight, and the (key, id) pairs are sorted by a stable LSD
+ * radix sort, one byte per pass, in two primitive arrays. Passes on a byte
+ * that all keys share (e.g. the sign and exponent of weights in a narrow
+ * range) are skipped. Ids are put in increasing order first, so stability
+ * leaves equal weights in increasing id order.
+ *
+ * On large arrays every pass is split into chunks: each chunk counts its
+ * bytes, the counts are turned into per-chunk start positions, and the
+ * chunks scatter into disjoint slots in parallel on the common fork-join
+ * pool, so no pass runs on a single thread.
+ */
+public final class EdgeSort {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK = 1 << 14;      // smallest slice one task scatters
+
+    private EdgeSort() {
+    }
+
+    /** Sorts edge ids of {@code G} by (weight, id); returns the keys examined. */
+    public static long sort(CsrGraph G, int[] ids) {
+        return sort(ids, G.weights());
+    }
+
+    /**
+     * Sorts {@code ids} by ({@code weight[id]}, id).
+     * -0.0 and 0.0 count as equal weights.
+     * Returns the keys examined: {@code ids.length} for every radix pass made
+     * (a radix sort compares no keys, so this is its counterpart of comparisons).
+     */
+    public static long sort(int[] ids, double[] weight) {
+        int n = ids.length;
+        if (n < 2) return 0;
+        if (!ascending(ids)) Arrays.parallelSort(ids);
+        long[] key = new long[n];
+        for (int i = 0; i < n; i++) key[i] = sortableBits(weight[ids[i]]);
+
+        int chunks = n < PARALLEL_THRESHOLD ? 1
+                : Math.max(1, Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), n / MIN_CHUNK));
+        boolean[] needed = neededPasses(key, chunks);
+
+        long[] srcKey = key, dstKey = new long[n];
+        int[] srcId = ids, dstId = new int[n];
+        long examined = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            if (!needed[pass]) continue;
+            scatter(srcKey, srcId, dstKey, dstId, pass * RADIX_BITS, chunks);
+            long[] k = srcKey; srcKey = dstKey; dstKey = k;
+            int[] d = srcId; srcId = dstId; dstId = d;
+            examined += n;
+        }
+        if (srcId != ids) System.arraycopy(srcId, 0, ids, 0, n);
+        return examined;
+    }
+
+    // true for every byte position on which the keys differ
+    private static boolean[] neededPasses(long[] key, int chunks) {
+        long first = key[0];
+        long diff = range(chunks).mapToLong(c -> {
+            long bits = 0;
+            int hi = start(key.length, chunks, c + 1);
+            for (int i = start(key.length, chunks, c); i < hi; i++) bits |= key[i] ^ first;
+            return bits;
+        }).reduce(0L, (a, b) -> a | b);
+        boolean[] needed = new boolean[PASSES];
+        for (int pass = 0; pass < PASSES; pass++) needed[pass] = ((diff >>> (pass * RADIX_BITS)) & (RADIX - 1)) != 0;
+        return needed;
+    }
+
+    // one stable counting pass on the byte at 'shift', chunk by chunk
+    private static void scatter(long[] srcKey, int[] srcId, long[] dstKey, int[] dstId, int shift, int chunks) {
+        int n = srcKey.length;
+        int[][] count = new int[chunks][];
+        range(chunks).forEach(c -> {
+            int[] histogram = new int[RADIX];
+            int hi = start(n, chunks, c + 1);
+            for (int i = start(n, chunks, c); i < hi; i++) histogram[(int) (srcKey[i] >>> shift) & (RADIX - 1)]++;
+            count[c] = histogram;
+        });
+
+        // chunk c writes digit b after every smaller digit, and after chunks before c with digit b
+        int position = 0;
+        for (int b = 0; b < RADIX; b++) {
+            for (int c = 0; c < chunks; c++) {
+                int m = count[c][b];
+                count[c][b] = position;
+                position += m;
+            }
+        }
+
+        range(chunks).forEach(c -> {
+            int[] next = count[c];
+            int hi = start(n, chunks, c + 1);
+            for (int i = start(n, chunks, c); i < hi; i++) {
+                int slot = next[(int) (srcKey[i] >>> shift) & (RADIX - 1)]++;
+                dstKey[slot] = srcKey[i];
+                dstId[slot] = srcId[i];
+            }
+        });
+    }
+
+    private static IntStream range(int chunks) {
+        IntStream range = IntStream.range(0, chunks);
+        return chunks > 1 ? range.parallel() : range;
+    }
+
+    // first index of chunk c out of 'chunks' equal slices of [0, n)
+    private static int start(int n, int chunks, int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    private static boolean ascending(int[] ids) {
+        for (int i = 1; i < ids.length; i++) if (ids[i - 1] > ids[i]) return false;
+        return true;
+    }
+
+    // double bits mapped so that unsigned long order equals numeric order
+    private static long sortableBits(double d) {
+        if (d == 0.0) d = 0.0;   // fold -0.0 into 0.0
+        long bits = Double.doubleToLongBits(d);
+        return (bits ^ ((bits >> 63) & 0x7FFFFFFFFFFFFFFFL)) ^ Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,48 @@
+package algo;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Single-pass source of weighted edges, for inputs that need not fit in memory.
+ * Edges are numbered 0, 1, ... in stream order.
+ */
+public interface EdgeStream extends Closeable {
+
+    /** Returns the number of vertices. */
+    int V();
+
+    /** Moves to the next edge; returns false when the stream is exhausted. */
+    boolean advance() throws IOException;
+
+    /** First endpoint of the current edge. */
+    int from();
+
+    /** Second endpoint of the current edge. */
+    int to();
+
+    /** Weight of the current edge. */
+    double weight();
+
+    /** Returns the number of bytes read from storage so far (0 for in-memory streams). */
+    default long bytesRead() {
+        return 0;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /** Streams the edges of an in-memory graph in edge id order. */
+    static EdgeStream of(CsrGraph G) {
+        return new EdgeStream() {
+            private int e = -1;
+
+            public int V() { return G.V(); }
+            public boolean advance() { return ++e < G.E(); }
+            public int from() { return G.from(e); }
+            public int to() { return G.to(e); }
+            public double weight() { return G.weight(e); }
+        };
+    }
+}
@@ -0,0 +1,287 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * External-memory Kruskal MST for edge lists larger than the heap.
+ *
+ *  - run formation: edges are read from an {@link EdgeStream} in runs of
+ *    {@code runEdges}, each run is sorted by (weight, edge id) with
+ *    {@link EdgeSort} and written to a temporary file
+ *  - merge: all runs are merged through memory-mapped windows with a
+ *    k-way heap while the greedy loop unites endpoints in an in-memory
+ *    {@link UnionFind}; it stops as soon as V - 1 edges are taken
+ *
+ * Only the union-find, one run of edges and the MST itself are kept in
+ * memory, so V must fit but E need not. Ties are broken by stream position,
+ * so the tree equals the one of {@link KruskalMST} on the same edges.
+ * Run records are little-endian: double weight | long id | int from | int to.
+ *
+ * Counts:
+ *  - rough cost of sorting each run
+ *  - edges merged, calls to find() and union()
+ *  - successful additions to MST
+ * and reports bytes read (input and runs) and written (runs).
+ */
+public class ExternalKruskalMST {
+    // ~160 MB per run at 40 bytes per edge: from/to/weight (16), the sort order (4),
+    // and EdgeSort's keys, key buffer and id buffer (20)
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+    private static final int RECORD_BYTES = 24;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int MAP_WINDOW_BYTES = RECORD_BYTES << 18;   // ~6 MB per run cursor
+
+    private double weight;                        // weight of MST
+    private Queue<Edge> mst = new Queue<Edge>();  // edges in MST
+    private final MSTMetrics metrics;             // optional instrumentation, null when not attached
+
+    private long operationCount = 0;
+    private long bytesRead = 0;
+    private long bytesWritten = 0;
+    private int runs = 0;
+
+    /** Returns number of recorded operations */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) with the default run size.
+     * @param edges the edges, read once
+     * @param workDir directory for temporary run files (deleted afterwards)
+     */
+    public ExternalKruskalMST(EdgeStream edges, Path workDir) throws IOException {
+        this(edges, workDir, DEFAULT_RUN_EDGES, null);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest), reporting sort comparisons,
+     * unions, rejected edges and sort (run formation) / greedy (merge) times to {@code metrics}.
+     * @param edges the edges, read once
+     * @param workDir directory for temporary run files (deleted afterwards)
+     * @param runEdges number of edges sorted in memory per run
+     * @param metrics collector, or null for no instrumentation
+     */
+    public ExternalKruskalMST(EdgeStream edges, Path workDir, int runEdges, MSTMetrics metrics) throws IOException {
+        if (runEdges < 1 || runEdges > Integer.MAX_VALUE / RECORD_BYTES)
+            throw new IllegalArgumentException("runEdges out of range: " + runEdges);
+        this.metrics = metrics;
+        List<Path> runFiles = new ArrayList<>();
+        try {
+            long start = metrics != null ? System.nanoTime() : 0L;
+            writeRuns(edges, workDir, runEdges, runFiles);
+            bytesRead += edges.bytesRead();
+            if (metrics != null) metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
+
+            start = metrics != null ? System.nanoTime() : 0L;
+            merge(edges.V(), runFiles);
+            if (metrics != null) {
+                metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
+                metrics.bytesRead(bytesRead);
+                metrics.bytesWritten(bytesWritten);
+            }
+        } finally {
+            for (Path run : runFiles) Files.deleteIfExists(run);
+        }
+    }
+
+    // read the stream in chunks of runEdges, sort each chunk and write it as one run file
+    private void writeRuns(EdgeStream edges, Path workDir, int runEdges, List<Path> runFiles) throws IOException {
+        int capacity = Math.min(runEdges, 1 << 16);   // grows up to runEdges for large inputs
+        int[] from = new int[capacity], to = new int[capacity];
+        double[] w = new double[capacity];
+        ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long base = 0;                                 // stream position of the run's first edge
+
+        boolean more = true;
+        while (more) {
+            int n = 0;
+            while (n < runEdges && (more = edges.advance())) {
+                if (n == from.length) {
+                    capacity = (int) Math.min(2L * capacity, runEdges);
+                    from = Arrays.copyOf(from, capacity);
+                    to = Arrays.copyOf(to, capacity);
+                    w = Arrays.copyOf(w, capacity);
+                }
+                from[n] = edges.from();
+                to[n] = edges.to();
+                w[n] = edges.weight();
+                n++;
+            }
+            if (n == 0) break;
+
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            long comparisons = EdgeSort.sort(order, w);
+            operationCount += (long) (n * (Math.log(n) / Math.log(2))); // rough cost of sort
+            if (metrics != null) metrics.sortComparisons(comparisons);
+
+            Path run = Files.createTempFile(workDir, "mst-run-", ".bin");
+            runFiles.add(run);
+            try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int i = 0; i < n; i++) {
+                    if (buf.remaining() < RECORD_BYTES) flush(out, buf);
+                    int e = order[i];
+                    buf.putDouble(w[e]).putLong(base + e).putInt(from[e]).putInt(to[e]);
+                }
+                flush(out, buf);
+            }
+            bytesWritten += (long) n * RECORD_BYTES;
+            base += n;
+            runs++;
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    // k-way merge of the sorted runs feeding the greedy loop
+    private void merge(int V, List<Path> runFiles) throws IOException {
+        int k = runFiles.size();
+        RunCursor[] cursors = new RunCursor[k];
+        int[] heap = new int[k];                     // binary min-heap of cursor indices
+        int size = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                cursors[r] = new RunCursor(runFiles.get(r));
+                if (cursors[r].advance()) heap[size++] = r;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) sink(cursors, heap, size, i);
+
+            UnionFind uf = new UnionFind(V);
+            while (size > 0 && mst.size() < V - 1) {
+                RunCursor c = cursors[heap[0]];
+                operationCount++; // processing edge
+                bytesRead += RECORD_BYTES;
+
+                // calls to UF
+                operationCount += 2; // two find() calls
+                if (uf.find(c.from) != uf.find(c.to)) {
+                    uf.union(c.from, c.to);
+                    operationCount++; // one union()
+                    if (metrics != null) metrics.union();
+                    mst.enqueue(new Edge(c.from, c.to, c.weight));
+                    weight += c.weight;
+                    operationCount++; // successful edge addition
+                } else if (metrics != null) {
+                    metrics.rejectedEdge();
+                }
+
+                if (!c.advance()) heap[0] = heap[--size];
+                sink(cursors, heap, size, 0);
+            }
+        } finally {
+            for (RunCursor c : cursors) if (c != null) c.close();
+        }
+    }
+
+    private static void sink(RunCursor[] cursors, int[] heap, int size, int i) {
+        while (2 * i + 1 < size) {
+            int j = 2 * i + 1;
+            if (j + 1 < size && cursors[heap[j + 1]].before(cursors[heap[j]])) j++;
+            if (!cursors[heap[j]].before(cursors[heap[i]])) return;
+            int t = heap[i]; heap[i] = heap[j]; heap[j] = t;
+            i = j;
+        }
+    }
+
+    /** Sequential reader over one run file, mapped a window at a time. */
+    private static final class RunCursor {
+        private final FileChannel channel;
+        private final long size;
+        private long offset;                 // file offset of the current window
+        private MappedByteBuffer window;
+
+        double weight;                       // current record
+        long id;
+        int from, to;
+
+        RunCursor(Path run) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            size = channel.size();
+            offset = -MAP_WINDOW_BYTES;
+        }
+
+        boolean advance() throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                offset += MAP_WINDOW_BYTES;
+                if (offset >= size) return false;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAP_WINDOW_BYTES, size - offset));
+                window.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            weight = window.getDouble();
+            id = window.getLong();
+            from = window.getInt();
+            to = window.getInt();
+            return true;
+        }
+
+        // strict total order on records: by weight, then by stream position
+        boolean before(RunCursor other) {
+            return weight < other.weight || (weight == other.weight && id < other.id);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Returns the edges in a minimum spanning tree (or forest). */
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    /** Returns the sum of the edge weights in a minimum spanning tree (or forest). */
+    public double weight() {
+        return weight;
+    }
+
+    /** Returns the bytes read: the input stream plus every run record merged. */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /** Returns the bytes written to run files. */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /** Returns the number of sorted runs written. */
+    public int runs() {
+        return runs;
+    }
+
+    /** Unit test for manual verification: {@code ExternalKruskalMST <graph.txt> [run edges]} */
+    public static void main(String[] args) throws IOException {
+        In in = new In(args[0]);
+        EdgeWeightedGraph G = new EdgeWeightedGraph(in);
+        int runEdges = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUN_EDGES;
+        Path workDir = Files.createTempDirectory("mst-runs");
+        try {
+            ExternalKruskalMST mst = new ExternalKruskalMST(EdgeStream.of(CsrGraph.from(G)), workDir, runEdges, null);
+            for (Edge e : mst.edges()) {
+                StdOut.println(e);
+            }
+            StdOut.printf("Weight: %.5f\n", mst.weight());
+            StdOut.printf("Operations: %d\n", mst.getOperationCount());
+            StdOut.printf("Runs: %d, bytes read: %d, bytes written: %d\n", mst.runs(), mst.bytesRead(), mst.bytesWritten());
+        } finally {
+            Files.deleteIfExists(workDir);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Cheap statistics of a graph used to pick an MST engine: its size, one pass
+ * over the edges for the component count, and a strided sample of at most
+ * {@value #SAMPLE} weights for the duplication ratio.
+ */
+public final class GraphStats {
+    private static final int SAMPLE = 4096;
+
+    private final int V;
+    private final int E;
+    private final int components;
+    private final double duplicateRatio;
+
+    private GraphStats(int V, int E, int components, double duplicateRatio) {
+        this.V = V;
+        this.E = E;
+        this.components = components;
+        this.duplicateRatio = duplicateRatio;
+    }
+
+    /** Computes the statistics of {@code G} in O(E α(V)) time. */
+    public static GraphStats of(CsrGraph G) {
+        UnionFind uf = new UnionFind(G.V());
+        for (int e = 0; e < G.E(); e++) uf.union(G.from(e), G.to(e));
+        return of(G, uf.count());
+    }
+
+    /**
+     * Statistics of {@code G} whose component count is already known (e.g. V minus
+     * the edges of its spanning forest); only the weights are sampled.
+     */
+    public static GraphStats of(CsrGraph G, int components) {
+        int n = Math.min(G.E(), SAMPLE);
+        double[] sample = new double[n];
+        long stride = n == 0 ? 1 : Math.max(1, G.E() / n);
+        for (int i = 0; i < n; i++) sample[i] = G.weight((int) (i * stride));
+        Arrays.sort(sample);
+        int duplicates = 0;
+        for (int i = 1; i < n; i++) if (sample[i] == sample[i - 1]) duplicates++;
+        return new GraphStats(G.V(), G.E(), components, n < 2 ? 0.0 : duplicates / (double) (n - 1));
+    }
+
+    /** Statistics of a connected graph with the given size and distinct weights. */
+    public static GraphStats of(int V, int E) {
+        return of(V, E, Math.min(V, 1));
+    }
+
+    /** Statistics of a graph with the given size and number of connected components, and distinct weights. */
+    public static GraphStats of(int V, int E, int components) {
+        return of(V, E, components, 0.0);
+    }
+
+    /** Statistics of a graph with the given size, number of connected components and duplication ratio. */
+    public static GraphStats of(int V, int E, int components, double duplicateRatio) {
+        return new GraphStats(V, E, components, duplicateRatio);
+    }
+
+    public int V() {
+        return V;
+    }
+
+    public int E() {
+        return E;
+    }
+
+    /** Returns E / (V (V - 1) / 2), the fraction of vertex pairs joined by an edge. */
+    public double density() {
+        return V < 2 ? 0.0 : 2.0 * E / ((double) V * (V - 1));
+    }
+
+    /** Returns the number of connected components (isolated vertices included). */
+    public int components() {
+        return components;
+    }
+
+    /** Returns the estimated fraction of edges whose weight also occurs on another edge. */
+    public double duplicateRatio() {
+        return duplicateRatio;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "V=%d E=%d density=%.4f components=%d duplicates=%.2f",
+                V, E, density(), components, duplicateRatio);
+    }
+}
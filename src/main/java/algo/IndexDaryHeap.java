@@ -0,0 +1,135 @@
+package algo;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap with primitive {@code double} keys.
+ *
+ * Same contract as algs4's {@code IndexMinPQ<Double>}, but keys live in a
+ * {@code double[]} so no {@code Double} is boxed on insert or decreaseKey.
+ * A wider arity makes the tree shallower, which favours the decreaseKey-heavy
+ * workload of Prim on dense graphs; see {@link #arityFor(int, int)}.
+ */
+public final class IndexDaryHeap implements IndexHeap {
+    private final int d;           // arity
+    private final int[] pq;        // heap position -> index
+    private final int[] qp;        // index -> heap position, or -1
+    private final double[] keys;   // keys[i] = key of index i
+    private int n;                 // number of elements on heap
+
+    /**
+     * @param maxN indices are in 0..maxN-1
+     * @param d arity of the heap (at least 2)
+     */
+    public IndexDaryHeap(int maxN, int d) {
+        if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+        if (d < 2) throw new IllegalArgumentException("arity must be at least 2");
+        this.d = d;
+        pq = new int[maxN];
+        qp = new int[maxN];
+        keys = new double[maxN];
+        for (int i = 0; i < maxN; i++) qp[i] = -1;
+    }
+
+    /**
+     * Picks the arity from the average degree: sparse graphs get a binary heap,
+     * dense graphs up to a 16-ary heap.
+     */
+    public static int arityFor(int V, int E) {
+        int avgDegree = V == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, 2L * E / V);
+        return Math.max(2, Math.min(16, avgDegree / 2));
+    }
+
+    /** Returns the arity of this heap. */
+    public int arity() {
+        return d;
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return qp[i] != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        if (contains(i)) throw new IllegalArgumentException("index is already in the priority queue");
+        keys[i] = key;
+        pq[n] = i;
+        qp[i] = n;
+        siftUp(n++);
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!contains(i)) throw new NoSuchElementException("index is not in the priority queue");
+        if (!(key < keys[i]))
+            throw new IllegalArgumentException("Calling decreaseKey() with a key not strictly less than the key in the priority queue");
+        keys[i] = key;
+        siftUp(qp[i]);
+    }
+
+    @Override
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        int min = pq[0];
+        int last = pq[--n];
+        qp[min] = -1;
+        if (n > 0) {
+            pq[0] = last;
+            qp[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int pos) {
+        int i = pq[pos];
+        double key = keys[i];
+        while (pos > 0) {
+            int parent = (pos - 1) / d;
+            int p = pq[parent];
+            if (keys[p] <= key) break;
+            pq[pos] = p;
+            qp[p] = pos;
+            pos = parent;
+        }
+        pq[pos] = i;
+        qp[i] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int i = pq[pos];
+        double key = keys[i];
+        while (true) {
+            int first = d * pos + 1;
+            if (first >= n) break;
+            int last = Math.min(first + d, n);
+            int best = first;
+            double bestKey = keys[pq[first]];
+            for (int c = first + 1; c < last; c++) {
+                double k = keys[pq[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) break;
+            int b = pq[best];
+            pq[pos] = b;
+            qp[b] = pos;
+            pos = best;
+        }
+        pq[pos] = i;
+        qp[i] = pos;
+    }
+}
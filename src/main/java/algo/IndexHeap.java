@@ -0,0 +1,26 @@
+package algo;
+
+/**
+ * Indexed min-priority queue over {@code double} keys for the indices 0..n-1,
+ * as used by {@link PrimMST}. Implementations must not allocate per operation.
+ */
+public interface IndexHeap {
+
+    /** Returns true if index {@code i} is on the heap. */
+    boolean contains(int i);
+
+    /** Returns true if the heap is empty. */
+    boolean isEmpty();
+
+    /** Returns the number of indices on the heap. */
+    int size();
+
+    /** Inserts index {@code i} with the given key. */
+    void insert(int i, double key);
+
+    /** Lowers the key of index {@code i} to {@code key}. */
+    void decreaseKey(int i, double key);
+
+    /** Removes the index with the smallest key and returns it. */
+    int delMin();
+}
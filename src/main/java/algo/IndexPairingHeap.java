@@ -0,0 +1,130 @@
+package algo;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed pairing heap with primitive {@code double} keys.
+ *
+ * Nodes are the indices themselves and all links live in {@code int[]} arrays,
+ * so nothing is allocated per operation. decreaseKey is O(1) amortized in
+ * practice (cut the subtree, link it with the root), which suits graphs whose
+ * many equal, integer-like weights cause long runs of cheap updates.
+ * delMin uses the standard two-pass pairing of the root's children.
+ */
+public final class IndexPairingHeap implements IndexHeap {
+    private static final int NIL = -1;
+
+    private final double[] keys;   // keys[i] = key of index i
+    private final int[] child;     // leftmost child
+    private final int[] sibling;   // right sibling
+    private final int[] prev;      // left sibling, or parent for a leftmost child
+    private final boolean[] onHeap;
+    private final int[] stack;     // scratch space for delMin's first pass
+    private int root = NIL;
+    private int n;
+
+    /** @param maxN indices are in 0..maxN-1 */
+    public IndexPairingHeap(int maxN) {
+        if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+        keys = new double[maxN];
+        child = new int[maxN];
+        sibling = new int[maxN];
+        prev = new int[maxN];
+        onHeap = new boolean[maxN];
+        stack = new int[maxN];
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return onHeap[i];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        if (onHeap[i]) throw new IllegalArgumentException("index is already in the priority queue");
+        keys[i] = key;
+        child[i] = sibling[i] = prev[i] = NIL;
+        onHeap[i] = true;
+        n++;
+        root = link(root, i);
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!onHeap[i]) throw new NoSuchElementException("index is not in the priority queue");
+        if (!(key < keys[i]))
+            throw new IllegalArgumentException("Calling decreaseKey() with a key not strictly less than the key in the priority queue");
+        keys[i] = key;
+        if (i == root) return;
+
+        // cut the subtree rooted at i and link it with the root
+        int p = prev[i];
+        if (child[p] == i) child[p] = sibling[i];
+        else sibling[p] = sibling[i];
+        if (sibling[i] != NIL) prev[sibling[i]] = p;
+        sibling[i] = prev[i] = NIL;
+        root = link(root, i);
+    }
+
+    @Override
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("Priority queue underflow");
+        int min = root;
+        onHeap[min] = false;
+        n--;
+        root = mergePairs(child[min]);
+        child[min] = NIL;
+        return min;
+    }
+
+    // two-pass pairing of a sibling list starting at 'first'
+    private int mergePairs(int first) {
+        if (first == NIL) return NIL;
+
+        // pass 1: link siblings in pairs, left to right
+        int top = 0;
+        int x = first;
+        while (x != NIL) {
+            int a = x;
+            int b = sibling[a];
+            if (b == NIL) {
+                sibling[a] = prev[a] = NIL;
+                stack[top++] = a;
+                break;
+            }
+            x = sibling[b];
+            sibling[a] = prev[a] = sibling[b] = prev[b] = NIL;
+            stack[top++] = link(a, b);
+        }
+
+        // pass 2: fold the pairs right to left
+        int r = stack[--top];
+        while (top > 0) r = link(stack[--top], r);
+        return r;
+    }
+
+    // link two roots; the one with the larger key becomes the leftmost child
+    private int link(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (keys[b] < keys[a]) {
+            int t = a; a = b; b = t;
+        }
+        int c = child[a];
+        sibling[b] = c;
+        if (c != NIL) prev[c] = b;
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+}
@@ -2,6 +2,9 @@ package algo;
 
 import edu.princeton.cs.algs4.*;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
 
 /**
  * Modified KruskalMST implementation with operation counting.
@@ -12,10 +15,13 @@ import java.util.Arrays;
  *  - successful additions to MST
  */
 public class KruskalMST {
-    private static final double FLOATING_POINT_EPSILON = 1.0E-12;
+    private static final int FILTER_BASE_CASE = 1 << 10;      // Filter-Kruskal falls back to sorting below this
+    private static final int PARALLEL_THRESHOLD = 1 << 14;    // segments below this are filtered sequentially
+    private static final int PARALLEL_BATCH = 1 << 12;        // edges per speculative batch of Variant.PARALLEL
 
     private double weight;                        // weight of MST
     private Queue<Edge> mst = new Queue<Edge>();  // edges in MST
+    private MSTMetrics metrics;                   // optional instrumentation, null when not attached
 
     // new field: counter for key algorithmic operations
     private long operationCount = 0;
@@ -39,7 +45,16 @@ public class KruskalMST {
         }
 
         // Sorting — each compare operation can be considered one logical step
-        Arrays.sort(edges);
+        int[] order = new int[edges.length];
+        double[] weights = new double[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            order[i] = i;
+            weights[i] = edges[i].weight();
+        }
+        EdgeSort.sort(order, weights);
+        Edge[] sorted = new Edge[edges.length];
+        for (int i = 0; i < edges.length; i++) sorted[i] = edges[order[i]];
+        edges = sorted;
         operationCount += edges.length * (Math.log(edges.length) / Math.log(2)); // rough cost of sort
 
         // run greedy algorithm
@@ -62,72 +77,251 @@ public class KruskalMST {
         }
 
         // check optimality conditions
-        assert check(G);
+        assert MSTVerifier.verify(G, edges(), weight());
     }
 
-    /** Returns the edges in a minimum spanning tree (or forest). */
-    public Iterable<Edge> edges() {
-        return mst;
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph.
+     * Sorts primitive edge ids instead of {@link Edge} objects; ties in weight
+     * are broken by edge id, so the result is deterministic.
+     * @param G the compact edge-weighted graph
+     */
+    public KruskalMST(CsrGraph G) {
+        this(G, Variant.CLASSIC);
     }
 
-    /** Returns the sum of the edge weights in a minimum spanning tree (or forest). */
-    public double weight() {
-        return weight;
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph with the given variant.
+     * Every variant returns the same tree as {@link Variant#CLASSIC}.
+     * @param G the compact edge-weighted graph
+     * @param variant how edges are ordered before the greedy loop
+     */
+    public KruskalMST(CsrGraph G, Variant variant) {
+        this(G, variant, null);
     }
 
-    // check optimality conditions (same as original)
-    private boolean check(EdgeWeightedGraph G) {
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph, reporting sort
+     * comparisons, find path lengths, unions, rejected edges and sort/greedy
+     * times to {@code metrics}.
+     * @param G the compact edge-weighted graph
+     * @param variant how edges are ordered before the greedy loop
+     * @param metrics collector, or null for no instrumentation
+     */
+    public KruskalMST(CsrGraph G, Variant variant, MSTMetrics metrics) {
+        this.metrics = metrics;
+        int[] ids = new int[G.E()];
+        for (int e = 0; e < ids.length; e++) ids[e] = e;
+
+        switch (variant) {
+            case FILTER:
+                filterKruskal(G, ids, new ConcurrentUF(G.V()));
+                break;
+            case PARALLEL:
+                sortEdges(G, ids);
+                parallelKruskal(G, ids);
+                break;
+            case CLASSIC:
+            default:
+                // edge ids sorted by (weight, id)
+                sortEdges(G, ids);
+                long start = metrics != null ? System.nanoTime() : 0L;
 
-        // check total weight
-        double total = 0.0;
-        for (Edge e : edges()) {
-            total += e.weight();
+                // run greedy algorithm
+                UnionFind uf = new UnionFind(G.V());
+                for (int i = 0; i < ids.length && mst.size() < G.V() - 1; i++) {
+                    int e = ids[i];
+                    operationCount++; // processing edge
+                    int v = G.from(e);
+                    int w = G.to(e);
+
+                    // calls to UF
+                    operationCount += 2; // two find() calls
+                    if (metrics != null) {
+                        metrics.findPath(uf.depth(v));
+                        metrics.findPath(uf.depth(w));
+                    }
+                    if (uf.find(v) != uf.find(w)) {
+                        uf.union(v, w);
+                        operationCount++; // one union()
+                        if (metrics != null) metrics.union();
+                        addEdge(G, e);
+                    } else if (metrics != null) {
+                        metrics.rejectedEdge();
+                    }
+                }
+                if (metrics != null) metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
         }
-        if (Math.abs(total - weight()) > FLOATING_POINT_EPSILON) {
-            System.err.printf("Weight of edges does not equal weight(): %f vs. %f\n", total, weight());
-            return false;
+
+        // check optimality conditions
+        assert MSTVerifier.verify(G, edges(), weight());
+    }
+
+    /** How the CSR constructor orders edges before the greedy loop. */
+    public enum Variant {
+        /** Sort all edges up front, then scan until V - 1 edges are taken. */
+        CLASSIC,
+        /**
+         * Filter-Kruskal: partition around a pivot weight, solve the light half,
+         * discard heavy edges already inside one component, then recurse on the rest.
+         * Partition and filter steps run in parallel on large segments.
+         */
+        FILTER,
+        /**
+         * Sorted greedy loop in batches: worker threads speculatively mark the
+         * edges of the next batch whose endpoints are already connected while
+         * a single committer unites the current batch in sorted order.
+         */
+        PARALLEL
+    }
+
+    // sort edge ids by (weight, id), recording the sort phase
+    private void sortEdges(CsrGraph G, int[] ids) {
+        long start = metrics != null ? System.nanoTime() : 0L;
+        long comparisons = EdgeSort.sort(G, ids);
+        operationCount += (long) (ids.length * (Math.log(ids.length) / Math.log(2))); // rough cost of sort
+        if (metrics != null) {
+            metrics.sortComparisons(comparisons);
+            metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
         }
+    }
 
-        // check that it is acyclic
-        UF uf = new UF(G.V());
-        for (Edge e : edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) == uf.find(w)) {
-                System.err.println("Not a forest");
-                return false;
+    /*
+     * Greedy loop over sorted ids with speculative cycle tests.
+     * Connectivity only grows, so an edge a worker saw as connected is still
+     * connected when the committer reaches it and can be skipped; edges seen
+     * as not connected are re-checked by the committer's union(). Taking
+     * edges strictly in sorted order yields the same tree as CLASSIC.
+     */
+    private void parallelKruskal(CsrGraph G, int[] ids) {
+        long start = metrics != null ? System.nanoTime() : 0L;
+        ConcurrentUF uf = new ConcurrentUF(G.V());
+        boolean[] cyclic = new boolean[ids.length];   // cyclic[i]: ids[i] seen closing a cycle
+
+        int n = ids.length;
+        ForkJoinTask<?> next = speculate(G, ids, cyclic, uf, 0, Math.min(PARALLEL_BATCH, n));
+        for (int lo = 0; lo < n && mst.size() < G.V() - 1; lo += PARALLEL_BATCH) {
+            int hi = Math.min(lo + PARALLEL_BATCH, n);
+            ForkJoinTask<?> current = next;
+            // workers test the following batch while this one is committed
+            next = hi < n ? speculate(G, ids, cyclic, uf, hi, Math.min(hi + PARALLEL_BATCH, n)) : null;
+            current.join();
+
+            for (int i = lo; i < hi && mst.size() < G.V() - 1; i++) {
+                int e = ids[i];
+                operationCount += 3; // processing edge + two find() calls (by a worker or in union())
+                if (!cyclic[i] && uf.union(G.from(e), G.to(e))) {
+                    operationCount++; // one union()
+                    if (metrics != null) metrics.union();
+                    addEdge(G, e);
+                } else if (metrics != null) {
+                    metrics.rejectedEdge();
+                }
             }
-            uf.union(v, w);
+        }
+        if (next != null) next.join();
+        if (metrics != null) metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
+    }
+
+    // mark ids[lo..hi) whose endpoints are already connected, on the common pool
+    private static ForkJoinTask<?> speculate(CsrGraph G, int[] ids, boolean[] cyclic, ConcurrentUF uf,
+                                             int lo, int hi) {
+        return ForkJoinPool.commonPool().submit(() -> IntStream.range(lo, hi).parallel()
+                .forEach(i -> cyclic[i] = uf.connected(G.from(ids[i]), G.to(ids[i]))));
+    }
+
+    // Filter-Kruskal on the edge ids in 'edges' (in increasing id order within equal weights)
+    private void filterKruskal(CsrGraph G, int[] edges, ConcurrentUF uf) {
+        int n = edges.length;
+        if (n == 0 || mst.size() >= G.V() - 1) return;
+        if (n <= FILTER_BASE_CASE) {
+            kruskalBase(G, edges, uf);
+            return;
         }
 
-        // check that it is a spanning forest
-        for (Edge e : G.edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) != uf.find(w)) {
-                System.err.println("Not a spanning forest");
-                return false;
-            }
+        // partition around the median weight of first, middle and last edge
+        long start = metrics != null ? System.nanoTime() : 0L;
+        double pivot = median(G.weight(edges[0]), G.weight(edges[n >>> 1]), G.weight(edges[n - 1]));
+        int[] light = select(edges, e -> G.weight(e) <= pivot);
+        int[] heavy = select(edges, e -> G.weight(e) > pivot);
+        operationCount += n; // one weight comparison per edge
+        if (metrics != null) {
+            metrics.sortComparisons(n);
+            metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
+        }
+        if (light.length == 0 || heavy.length == 0) {   // degenerate pivot
+            kruskalBase(G, edges, uf);
+            return;
         }
 
-        // check minimality
-        for (Edge e : edges()) {
-            uf = new UF(G.V());
-            for (Edge f : mst) {
-                int x = f.either(), y = f.other(x);
-                if (f != e) uf.union(x, y);
-            }
+        filterKruskal(G, light, uf);
+        if (mst.size() >= G.V() - 1) return;
 
-            for (Edge f : G.edges()) {
-                int x = f.either(), y = f.other(x);
-                if (uf.find(x) != uf.find(y)) {
-                    if (f.weight() < e.weight()) {
-                        System.err.println("Edge " + f + " violates cut optimality conditions");
-                        return false;
-                    }
-                }
+        // drop heavy edges whose endpoints are already connected (no unions run concurrently)
+        start = metrics != null ? System.nanoTime() : 0L;
+        int before = heavy.length;
+        heavy = select(heavy, e -> uf.find(G.from(e)) != uf.find(G.to(e)));
+        operationCount += 2L * before; // two find() calls per partitioned heavy edge
+        if (metrics != null) {
+            for (int i = heavy.length; i < before; i++) metrics.rejectedEdge();
+            metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
+        }
+        filterKruskal(G, heavy, uf);
+    }
+
+    // classic Kruskal on a small segment: sort, then greedy
+    private void kruskalBase(CsrGraph G, int[] edges, ConcurrentUF uf) {
+        long start = metrics != null ? System.nanoTime() : 0L;
+        long comparisons = EdgeSort.sort(G, edges);
+        operationCount += (long) (edges.length * (Math.log(Math.max(edges.length, 1)) / Math.log(2))); // rough cost of sort
+        if (metrics != null) {
+            metrics.sortComparisons(comparisons);
+            metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
+            start = System.nanoTime();
+        }
+        for (int i = 0; i < edges.length && mst.size() < G.V() - 1; i++) {
+            int e = edges[i];
+            operationCount += 3; // processing edge + two find() calls
+            if (uf.union(G.from(e), G.to(e))) {
+                operationCount++; // one union()
+                if (metrics != null) metrics.union();
+                addEdge(G, e);
+            } else if (metrics != null) {
+                metrics.rejectedEdge();
             }
         }
+        if (metrics != null) metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
+    }
 
-        return true;
+    // order-preserving filter, parallel on large segments
+    private static int[] select(int[] edges, java.util.function.IntPredicate keep) {
+        if (edges.length < PARALLEL_THRESHOLD) {
+            int[] out = new int[edges.length];
+            int k = 0;
+            for (int e : edges) if (keep.test(e)) out[k++] = e;
+            return Arrays.copyOf(out, k);
+        }
+        return Arrays.stream(edges).parallel().filter(keep).toArray();
+    }
+
+    private static double median(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void addEdge(CsrGraph G, int e) {
+        mst.enqueue(G.toEdge(e));
+        weight += G.weight(e);
+        operationCount++; // successful edge addition
+    }
+
+    /** Returns the edges in a minimum spanning tree (or forest). */
+    public Iterable<Edge> edges() {
+        return mst;
+    }
+
+    /** Returns the sum of the edge weights in a minimum spanning tree (or forest). */
+    public double weight() {
+        return weight;
     }
 
     /** Unit test for manual verification */
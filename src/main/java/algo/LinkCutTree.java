@@ -0,0 +1,175 @@
+package algo;
+
+/**
+ * Array-based link-cut tree (Sleator–Tarjan) over nodes 0..n-1 with a
+ * path-maximum aggregate.
+ *
+ * Every node carries a {@code double} value; {@link #pathMax(int, int)}
+ * returns the node of largest value on the tree path between two nodes.
+ * All operations run in O(log n) amortized time and allocate nothing.
+ */
+public final class LinkCutTree {
+    private static final int NIL = -1;
+
+    private final int[] left, right, parent;   // splay-tree links; parent is also the path-parent pointer
+    private final boolean[] reversed;          // pending subtree reversal
+    private final double[] value;
+    private final int[] max;                   // node of maximum value in the splay subtree
+    private final int[] stack;                 // scratch space for pushing reversals before a splay
+
+    public LinkCutTree(int n) {
+        left = new int[n];
+        right = new int[n];
+        parent = new int[n];
+        reversed = new boolean[n];
+        value = new double[n];
+        max = new int[n];
+        stack = new int[n];
+        for (int x = 0; x < n; x++) {
+            left[x] = right[x] = parent[x] = NIL;
+            value[x] = Double.NEGATIVE_INFINITY;
+            max[x] = x;
+        }
+    }
+
+    /** Sets the value of an isolated node (call only while {@code x} has no tree links). */
+    public void setValue(int x, double v) {
+        value[x] = v;
+        max[x] = x;
+    }
+
+    /** Returns the value of node {@code x}. */
+    public double value(int x) {
+        return value[x];
+    }
+
+    /** Returns true if {@code x} and {@code y} are in the same tree. */
+    public boolean connected(int x, int y) {
+        if (x == y) return true;
+        return findRoot(x) == findRoot(y);
+    }
+
+    /** Adds the tree edge x-y; {@code x} and {@code y} must be in different trees. */
+    public void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /** Removes the tree edge x-y; the edge must exist. */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        splay(y);
+        // an edge x-y means the splay tree of y holds exactly x (as left child) and y
+        if (left[y] != x || left[x] != NIL || right[x] != NIL)
+            throw new IllegalArgumentException("No tree edge between " + x + " and " + y);
+        left[y] = NIL;
+        parent[x] = NIL;
+        pull(y);
+    }
+
+    /** Returns the node of maximum value on the path x..y (both must be connected). */
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        splay(y);
+        return max[y];
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        splay(x);
+        push(x);
+        while (left[x] != NIL) {
+            x = left[x];
+            push(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        splay(x);
+        reversed[x] ^= true;
+    }
+
+    // make the root-to-x path preferred, with x at the top of its splay tree
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // push pending reversals from the splay root down to x
+        int top = 0;
+        int y = x;
+        stack[top++] = y;
+        while (!isSplayRoot(y)) {
+            y = parent[y];
+            stack[top++] = y;
+        }
+        while (top > 0) push(stack[--top]);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigzig = (left[g] == p) == (left[p] == x);
+                rotate(zigzig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x], g = parent[p];
+        boolean pIsRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pIsRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void push(int x) {
+        if (!reversed[x]) return;
+        int t = left[x];
+        left[x] = right[x];
+        right[x] = t;
+        if (left[x] != NIL) reversed[left[x]] ^= true;
+        if (right[x] != NIL) reversed[right[x]] ^= true;
+        reversed[x] = false;
+    }
+
+    private void pull(int x) {
+        int m = x;
+        int l = left[x], r = right[x];
+        if (l != NIL && value[max[l]] > value[m]) m = max[l];
+        if (r != NIL && value[max[r]] > value[m]) m = max[r];
+        max[x] = m;
+    }
+}
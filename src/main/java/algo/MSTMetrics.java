@@ -0,0 +1,85 @@
+package algo;
+
+/**
+ * Hot-path instrumentation hooks for the MST engines.
+ *
+ * Engines hold a possibly-null reference and guard every call with a null
+ * check, so when no collector is attached the only cost is a predictable
+ * branch; nothing is counted or timed.
+ */
+public interface MSTMetrics {
+
+    /** Phases of one graph run, timed in nanoseconds. */
+    enum Phase { LOAD, BUILD, SORT, GREEDY, VERIFY, REORDER }
+
+    /** A vertex was inserted into Prim's heap. */
+    void heapInsert();
+
+    /** A key was lowered in Prim's heap. */
+    void decreaseKey();
+
+    /** The minimum was removed from Prim's heap. */
+    void delMin();
+
+    /**
+     * {@code n} weight keys were examined while ordering edges: comparisons of a
+     * comparison sort, or keys moved per digit pass of {@link EdgeSort}'s radix sort.
+     */
+    void sortComparisons(long n);
+
+    /** A union-find lookup walked {@code length} parent links. */
+    void findPath(int length);
+
+    /** Two components were merged. */
+    void union();
+
+    /** An edge was examined and not taken (cycle, or no improvement). */
+    void rejectedEdge();
+
+    /** {@code bytes} were read from disk (external-memory runs). */
+    void bytesRead(long bytes);
+
+    /** {@code bytes} were written to disk (external-memory runs). */
+    void bytesWritten(long bytes);
+
+    /** {@code nanos} were spent in {@code phase}; repeated calls accumulate. */
+    void phase(Phase phase, long nanos);
+
+    // Bulk forms, for totals gathered elsewhere (e.g. per-component collectors).
+    // The defaults forward one event at a time; collectors with counters add directly.
+
+    /** {@code count} vertices were inserted into Prim's heap. */
+    default void heapInserts(long count) {
+        for (long i = 0; i < count; i++) heapInsert();
+    }
+
+    /** {@code count} keys were lowered in Prim's heap. */
+    default void decreaseKeys(long count) {
+        for (long i = 0; i < count; i++) decreaseKey();
+    }
+
+    /** The minimum was removed from Prim's heap {@code count} times. */
+    default void delMins(long count) {
+        for (long i = 0; i < count; i++) delMin();
+    }
+
+    /**
+     * {@code count} union-find lookups walked {@code totalLength} parent links in all.
+     * The default spreads the total as evenly as possible over {@code count} calls of {@link #findPath}.
+     */
+    default void findPaths(long count, long totalLength) {
+        if (count <= 0) return;
+        long length = totalLength / count, longer = totalLength % count;
+        for (long i = 0; i < count; i++) findPath((int) Math.min(i < longer ? length + 1 : length, Integer.MAX_VALUE));
+    }
+
+    /** {@code count} pairs of components were merged. */
+    default void unions(long count) {
+        for (long i = 0; i < count; i++) union();
+    }
+
+    /** {@code count} edges were examined and not taken. */
+    default void rejectedEdges(long count) {
+        for (long i = 0; i < count; i++) rejectedEdge();
+    }
+}
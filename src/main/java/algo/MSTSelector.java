@@ -0,0 +1,257 @@
+package algo;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the MST engine expected to finish first on a graph.
+ *
+ * The cost model has two parts per engine, both calibrated from the samples
+ * {@code Main} appends to {@code selector_samples.csv} after every run (see
+ * {@code io.ResultWriter}):
+ *  - operations = a * (V + E) + b * g(V, E) + c * d * E, fitted by
+ *    non-negative least squares on Operations_Count, where g is the engine's
+ *    growth term: V log V for Prim, E log E for Kruskal (sorting) and
+ *    E log(V / components) for Borůvka (one edge scan per round), and d is
+ *    the weight duplication ratio (ties skip Prim's decrease-keys and shorten
+ *    the radix sort)
+ *  - time = t0 + t1 * operations, fitted the same way on Execution_Time_ms;
+ *    t0 is the fixed cost of a run (allocation, thread hand-off for Borůvka)
+ *
+ * Operation counts are deterministic and give the shape of the curve; the
+ * timings, noisy on small graphs, only set the scale and the fixed cost.
+ *
+ * Only the chosen engine's results become new samples, so every
+ * {@value #EXPLORE_INTERVAL}th graph {@link #explore} also names the other
+ * engine with the fewest samples, to be run for calibration.
+ */
+public final class MSTSelector {
+
+    /** Engines the selector chooses between. */
+    public enum Engine { PRIM, KRUSKAL, BORUVKA }
+
+    // fitted on the bundled results/summary_all.csv (no Borůvka rows): Borůvka estimated from local runs
+    private static final double[][] DEFAULT_COEFFICIENTS = {{1.7, 0.0, 0.0}, {1.4, 1.1, 0.0}, {0.0, 1.3, 0.0}};
+    static final int EXPLORE_INTERVAL = 10;
+    private static final double[][] DEFAULT_TIMING = {{0.04, 5.5e-5}, {0.1, 2.0e-5}, {0.5, 7.0e-5}};
+
+    private final double[][] coefficients;   // coefficients[engine] = {a, b, c}
+    private final double[][] timing;         // timing[engine] = {t0 in ms, t1 in ms per operation}
+    private final int[] samples;             // calibration rows per engine
+    private final AtomicLong selections = new AtomicLong();
+    private final AtomicIntegerArray explored = new AtomicIntegerArray(Engine.values().length);
+
+    private MSTSelector(double[][] coefficients, double[][] timing, int[] samples) {
+        this.coefficients = coefficients;
+        this.timing = timing;
+        this.samples = samples;
+    }
+
+    /** Returns a selector with built-in coefficients. */
+    public static MSTSelector defaults() {
+        int n = Engine.values().length;
+        double[][] coefficients = new double[n][], timing = new double[n][];
+        for (int i = 0; i < n; i++) {
+            coefficients[i] = DEFAULT_COEFFICIENTS[i].clone();
+            timing[i] = DEFAULT_TIMING[i].clone();
+        }
+        return new MSTSelector(coefficients, timing, new int[n]);
+    }
+
+    /**
+     * Calibrates from a CSV with at least the columns Vertices, Edges,
+     * Algorithm, Operations_Count and Execution_Time_ms, plus Components for
+     * Borůvka (rows without it are left out of Borůvka's fit) and
+     * Duplicate_Ratio (taken as 0 when absent). Engines without rows keep the
+     * built-in coefficients.
+     */
+    public static MSTSelector calibrate(Path samplesCsv) throws IOException {
+        MSTSelector selector = defaults();
+        List<Map<String, String>> rows = readCsv(samplesCsv);
+        for (Engine engine : Engine.values()) {
+            List<double[]> points = new ArrayList<>();   // {x1, x2, x3, ops}
+            List<double[]> times = new ArrayList<>();    // {1, ops, ms}
+            for (Map<String, String> row : rows) {
+                if (!engine.name().equalsIgnoreCase(row.get("Algorithm"))) continue;
+                try {
+                    int V = Integer.parseInt(row.get("Vertices"));
+                    int E = Integer.parseInt(row.get("Edges"));
+                    String components = row.get("Components");
+                    if (components == null && engine == Engine.BORUVKA) continue;
+                    double ops = Double.parseDouble(row.get("Operations_Count"));
+                    double ms = Double.parseDouble(row.get("Execution_Time_ms"));
+                    String duplicates = row.get("Duplicate_Ratio");
+                    if (ops <= 0) continue;
+                    double[] x = features(engine, V, E, components != null ? Integer.parseInt(components) : 1,
+                            duplicates != null && !duplicates.isEmpty() ? Double.parseDouble(duplicates) : 0.0);
+                    points.add(new double[]{x[0], x[1], x[2], ops});
+                    times.add(new double[]{1.0, ops, ms});
+                } catch (NullPointerException | NumberFormatException e) {
+                    // incomplete row: skip it
+                }
+            }
+            if (points.isEmpty()) continue;
+            int i = engine.ordinal();
+            selector.coefficients[i] = fit(points);
+            selector.timing[i] = fit(times);
+            selector.samples[i] = points.size();
+        }
+        return selector;
+    }
+
+    /** Returns the engine with the lowest predicted time. */
+    public Engine select(GraphStats stats) {
+        Engine best = Engine.PRIM;
+        for (Engine engine : Engine.values())
+            if (predictMillis(engine, stats) < predictMillis(best, stats)) best = engine;
+        return best;
+    }
+
+    /**
+     * Returns an engine to run next to {@code chosen} so that the model keeps getting
+     * samples of the engines it does not pick, or null. Every {@value #EXPLORE_INTERVAL}th
+     * call names the other engine with the fewest samples (calibration rows plus
+     * exploration runs so far). Safe to call from concurrent graph jobs.
+     */
+    public Engine explore(Engine chosen) {
+        if (selections.incrementAndGet() % EXPLORE_INTERVAL != 0) return null;
+        Engine least = null;
+        for (Engine engine : Engine.values()) {
+            if (engine == chosen) continue;
+            if (least == null || seen(engine) < seen(least)) least = engine;
+        }
+        explored.incrementAndGet(least.ordinal());
+        return least;
+    }
+
+    private int seen(Engine engine) {
+        return samples[engine.ordinal()] + explored.get(engine.ordinal());
+    }
+
+    /** Returns the predicted number of counted operations of {@code engine}. */
+    public double predictOperations(Engine engine, GraphStats stats) {
+        double[] x = features(engine, stats.V(), stats.E(), stats.components(), stats.duplicateRatio());
+        double[] c = coefficients[engine.ordinal()];
+        return c[0] * x[0] + c[1] * x[1] + c[2] * x[2];
+    }
+
+    /** Returns the predicted running time of {@code engine} in milliseconds. */
+    public double predictMillis(Engine engine, GraphStats stats) {
+        double[] t = timing[engine.ordinal()];
+        return t[0] + t[1] * predictOperations(engine, stats);
+    }
+
+    /** Returns the number of summary rows {@code engine} was calibrated on (0: built-in defaults). */
+    public int samples(Engine engine) {
+        return samples[engine.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Engine engine : Engine.values()) {
+            double[] c = coefficients[engine.ordinal()], t = timing[engine.ordinal()];
+            sb.append(String.format(Locale.ROOT, "%s: ops = %.3f (V + E) + %.3f g + %.3f d E, ms = %.4f + %.1f ns * ops, %d rows%n",
+                    engine, c[0], c[1], c[2], t[0], t[1] * 1e6, samples[engine.ordinal()]));
+        }
+        return sb.toString();
+    }
+
+    // {V + E, growth term of the engine, edges with a repeated weight}
+    private static double[] features(Engine engine, int V, int E, int components, double duplicateRatio) {
+        double growth;
+        switch (engine) {
+            case PRIM: growth = V * log2(V); break;
+            case KRUSKAL: growth = E * log2(E); break;
+            case BORUVKA: default: growth = E * log2((double) V / Math.max(components, 1)); break;
+        }
+        return new double[]{(double) V + E, growth, duplicateRatio * E};
+    }
+
+    private static double log2(double x) {
+        return x <= 1 ? 0.0 : Math.log(x) / Math.log(2);
+    }
+
+    // least squares fit of y ~ c1 x1 + ... + ck xk with every c >= 0, for points {x1, ..., xk, y}:
+    // the best unconstrained fit on any subset of the features whose coefficients are all non-negative
+    private static double[] fit(List<double[]> points) {
+        int k = points.get(0).length - 1;
+        double[] best = new double[k];
+        double bestError = Double.POSITIVE_INFINITY;
+        for (int subset = 1; subset < 1 << k; subset++) {
+            double[] c = solve(points, subset, k);
+            if (c == null) continue;
+            double error = 0;
+            for (double[] p : points) {
+                double r = p[k];
+                for (int j = 0; j < k; j++) r -= c[j] * p[j];
+                error += r * r;
+            }
+            if (error < bestError) {
+                bestError = error;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // normal equations restricted to the features in 'subset'; null if singular or a coefficient is negative
+    private static double[] solve(List<double[]> points, int subset, int k) {
+        int[] f = new int[Integer.bitCount(subset)];
+        for (int j = 0, m = 0; j < k; j++) if ((subset >> j & 1) != 0) f[m++] = j;
+        int m = f.length;
+        double[][] a = new double[m][m + 1];
+        for (double[] p : points) {
+            for (int r = 0; r < m; r++) {
+                for (int c = 0; c < m; c++) a[r][c] += p[f[r]] * p[f[c]];
+                a[r][m] += p[f[r]] * p[k];
+            }
+        }
+        double[] scale = new double[m];
+        for (int r = 0; r < m; r++) scale[r] = a[r][r];
+        // Gauss-Jordan elimination with partial pivoting
+        for (int col = 0; col < m; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < m; r++) if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            double[] t = a[col]; a[col] = a[pivot]; a[pivot] = t;
+            if (Math.abs(a[col][col]) <= 1e-9 * Math.max(scale[col], Double.MIN_NORMAL)) return null;
+            for (int r = 0; r < m; r++) {
+                if (r == col) continue;
+                double factor = a[r][col] / a[col][col];
+                for (int c = col; c <= m; c++) a[r][c] -= factor * a[col][c];
+            }
+        }
+        double[] coefficients = new double[k];
+        for (int r = 0; r < m; r++) {
+            double c = a[r][m] / a[r][r];
+            if (c < 0) return null;
+            coefficients[f[r]] = c;
+        }
+        return coefficients;
+    }
+
+    // reads a CSV into rows keyed by header name; rows of the wrong width are skipped
+    static List<Map<String, String>> readCsv(Path csv) throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        try (Reader in = Files.newBufferedReader(csv);
+             CSVParser parser = CSVParser.parse(in, format)) {
+            for (CSVRecord record : parser) {
+                if (record.isConsistent()) rows.add(record.toMap());
+            }
+        }
+        return rows;
+    }
+}
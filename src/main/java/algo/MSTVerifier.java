@@ -0,0 +1,206 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.util.Arrays;
+
+/**
+ * Near-linear verification of a minimum spanning forest.
+ *
+ * Checks the same optimality conditions as the original algs4 {@code check()}:
+ *  - the edge weights add up to the reported weight
+ *  - the edges form a forest
+ *  - the forest spans every component of the graph
+ *  - cycle property: no graph edge is lighter than the heaviest forest edge
+ *    on the path between its endpoints
+ *
+ * The cycle property is checked for all graph edges in one offline pass
+ * (Tarjan's LCA over a depth-first traversal of the forest, with a union-find
+ * that carries the maximum edge weight towards the current ancestor), so the
+ * whole verification runs in O((V + E) log V) worst case and near-linear
+ * time in practice instead of the O(V * E) of rebuilding a UF per tree edge.
+ */
+public final class MSTVerifier {
+    private static final double FLOATING_POINT_EPSILON = 1.0E-12;
+
+    private MSTVerifier() {
+    }
+
+    /** Verifies a forest of an algs4 graph. */
+    public static boolean verify(EdgeWeightedGraph G, Iterable<Edge> mst, double weight) {
+        return verify(CsrGraph.from(G), mst, weight);
+    }
+
+    /**
+     * Verifies that {@code mst} is a minimum spanning forest of {@code G}
+     * with total weight {@code weight}. Violations are reported on stderr.
+     */
+    public static boolean verify(CsrGraph G, Iterable<Edge> mst, double weight) {
+        int V = G.V();
+
+        // check total weight
+        double total = 0.0;
+        CsrGraph.Builder treeBuilder = new CsrGraph.Builder(V, Math.max(V - 1, 1));
+        for (Edge e : mst) {
+            total += e.weight();
+            int v = e.either();
+            treeBuilder.addEdge(v, e.other(v), e.weight());
+        }
+        if (Math.abs(total - weight) > FLOATING_POINT_EPSILON * Math.max(1.0, Math.abs(weight))) {
+            System.err.printf("Weight of edges does not equal weight(): %f vs. %f\n", total, weight);
+            return false;
+        }
+        CsrGraph tree = treeBuilder.build();
+
+        // check that it is acyclic
+        UF uf = new UF(V);
+        for (int e = 0; e < tree.E(); e++) {
+            int v = tree.from(e), w = tree.to(e);
+            if (uf.find(v) == uf.find(w)) {
+                System.err.println("Not a forest");
+                return false;
+            }
+            uf.union(v, w);
+        }
+
+        // check that it is a spanning forest
+        for (int e = 0; e < G.E(); e++) {
+            if (uf.find(G.from(e)) != uf.find(G.to(e))) {
+                System.err.println("Not a spanning forest");
+                return false;
+            }
+        }
+
+        // check minimality (cycle property) for every graph edge at once
+        int bad = firstCycleViolation(G, tree);
+        if (bad >= 0) {
+            System.err.println("Edge " + G.toEdge(bad) + " violates cut optimality conditions");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a graph edge that is lighter than the heaviest tree edge on the
+     * tree path between its endpoints, or -1 if there is none.
+     * {@code tree} must be a spanning forest of {@code G}.
+     */
+    static int firstCycleViolation(CsrGraph G, CsrGraph tree) {
+        int V = G.V();
+        PathMaxUF dsu = new PathMaxUF(V);
+        boolean[] finished = new boolean[V];
+        boolean[] visited = new boolean[V];
+
+        // queries waiting for their LCA to finish: linked lists of graph edge ids
+        int[] pendingHead = new int[V];
+        int[] pendingNext = new int[G.E()];
+        Arrays.fill(pendingHead, -1);
+
+        // iterative DFS state
+        int[] stack = new int[V];
+        int[] cursor = new int[V];      // next adjacency slot to explore
+        int[] parentEdge = new int[V];  // tree edge to the DFS parent, -1 at a root
+
+        for (int root = 0; root < V; root++) {
+            if (visited[root]) continue;
+            int top = 0;
+            stack[top++] = root;
+            visited[root] = true;
+            cursor[root] = tree.begin(root);
+            parentEdge[root] = -1;
+
+            while (top > 0) {
+                int x = stack[top - 1];
+                if (cursor[x] < tree.end(x)) {
+                    int i = cursor[x]++;
+                    int te = tree.edgeId(i);
+                    int c = tree.target(i);
+                    if (te == parentEdge[x] || visited[c]) continue;
+                    visited[c] = true;
+                    parentEdge[c] = te;
+                    cursor[c] = tree.begin(c);
+                    stack[top++] = c;
+                    continue;
+                }
+
+                // x is finished: all children are merged into x's set
+                finished[x] = true;
+                for (int i = G.begin(x); i < G.end(x); i++) {
+                    int y = G.target(i);
+                    if (y == x || !finished[y]) continue;   // self-loop, or asked again when y finishes
+                    int e = G.edgeId(i);
+                    int lca = dsu.find(y);
+                    pendingNext[e] = pendingHead[lca];
+                    pendingHead[lca] = e;
+                }
+
+                // answer every query whose LCA is x: both endpoints now sit in x's set
+                for (int e = pendingHead[x]; e >= 0; e = pendingNext[e]) {
+                    double max = Math.max(dsu.maxToRoot(G.from(e)), dsu.maxToRoot(G.to(e)));
+                    if (G.weight(e) < max) return e;
+                }
+
+                top--;
+                if (parentEdge[x] >= 0) {
+                    int p = tree.other(parentEdge[x], x);
+                    dsu.link(x, p, tree.weight(parentEdge[x]));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Union-find whose links always point from a finished DFS subtree to its
+     * parent vertex, so a set's root is the deepest unfinished ancestor;
+     * {@code up[x]} is the maximum edge weight between x and its parent link.
+     */
+    private static final class PathMaxUF {
+        private final int[] parent;
+        private final double[] up;
+        private final int[] path;
+
+        PathMaxUF(int n) {
+            parent = new int[n];
+            up = new double[n];
+            path = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                up[i] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        void link(int child, int parentVertex, double weight) {
+            parent[child] = parentVertex;
+            up[child] = weight;
+        }
+
+        int find(int x) {
+            compress(x);
+            return parent[x] == x ? x : parent[x];
+        }
+
+        // maximum edge weight on the tree path from x to its set root
+        double maxToRoot(int x) {
+            compress(x);
+            return parent[x] == x ? Double.NEGATIVE_INFINITY : up[x];
+        }
+
+        // point every node on the path from x directly at the root, folding maxima
+        private void compress(int x) {
+            int n = 0;
+            while (parent[x] != x) {
+                path[n++] = x;
+                x = parent[x];
+            }
+            int root = x;
+            // nodes nearest the root first, so each parent is already compressed
+            for (int i = n - 2; i >= 0; i--) {
+                int node = path[i];
+                int p = parent[node];
+                if (up[p] > up[node]) up[node] = up[p];
+                parent[node] = root;
+            }
+        }
+    }
+}
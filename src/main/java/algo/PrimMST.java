@@ -2,21 +2,34 @@ package algo;
 
 import edu.princeton.cs.algs4.*;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
 /**
  * Modified PrimMST implementation with operation counting.
  *
+ * Uses a primitive {@code double}-keyed indexed heap (see {@link Heap})
+ * instead of {@code IndexMinPQ<Double>}, so no key is boxed.
+ *
+ * {@link Mode#FOREST} is meant for inputs with many components: it labels
+ * the connected components in parallel first and then grows every
+ * component's tree concurrently, each on its own heap sized to the component.
+ *
  * Counts the number of key algorithmic operations:
  *  - edge relaxations
  *  - successful key updates (insert/decreaseKey)
  *  - edge scans
  */
 public class PrimMST {
-    private static final double FLOATING_POINT_EPSILON = 1.0E-12;
 
     private Edge[] edgeTo;        // edgeTo[v] = shortest edge from tree vertex to non-tree vertex
     private double[] distTo;      // distTo[v] = weight of shortest such edge
     private boolean[] marked;     // marked[v] = true if v on tree, false otherwise
-    private IndexMinPQ<Double> pq;
+    private IndexHeap pq;         // primitive-keyed indexed heap, see Heap
+    private MSTMetrics metrics;   // optional instrumentation, null when not attached
+    private Queue<Edge> mst;      // edges in MST, collected from edgeTo on first use
+    private double weight;        // weight of MST, set together with mst
 
     // new field: counter for key algorithmic operations
     private long operationCount = 0;
@@ -34,7 +47,7 @@ public class PrimMST {
         edgeTo = new Edge[G.V()];
         distTo = new double[G.V()];
         marked = new boolean[G.V()];
-        pq = new IndexMinPQ<Double>(G.V());
+        pq = Heap.AUTO.create(G.V(), G.E());
         for (int v = 0; v < G.V(); v++)
             distTo[v] = Double.POSITIVE_INFINITY;
 
@@ -42,7 +55,125 @@ public class PrimMST {
             if (!marked[v]) prim(G, v);      // minimum spanning forest
 
         // check optimality conditions
-        assert check(G);
+        assert MSTVerifier.verify(G, edges(), weight());
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph.
+     * Runs directly on the primitive adjacency arrays; {@link Edge} objects are
+     * only created for the V - 1 tree edges once the tree is complete.
+     * @param G the compact edge-weighted graph
+     */
+    public PrimMST(CsrGraph G) {
+        this(G, Heap.AUTO);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph using the given heap.
+     * @param G the compact edge-weighted graph
+     * @param heap priority queue implementation (for benchmarking)
+     */
+    public PrimMST(CsrGraph G, Heap heap) {
+        this(G, heap, null);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph, reporting
+     * heap operations, rejected edges and the greedy-loop time to {@code metrics}.
+     * @param G the compact edge-weighted graph
+     * @param heap priority queue implementation (for benchmarking)
+     * @param metrics collector, or null for no instrumentation
+     */
+    public PrimMST(CsrGraph G, Heap heap, MSTMetrics metrics) {
+        this(G, heap, metrics, Mode.SEQUENTIAL);
+    }
+
+    /**
+     * Compute a minimum spanning tree (or forest) of a CSR graph in the given mode.
+     * @param G the compact edge-weighted graph
+     * @param heap priority queue implementation (for benchmarking)
+     * @param metrics collector, or null for no instrumentation
+     * @param mode one tree after another, or components in parallel
+     */
+    public PrimMST(CsrGraph G, Heap heap, MSTMetrics metrics, Mode mode) {
+        if (mode == Mode.FOREST) {
+            forest(G, heap, metrics);
+            assert MSTVerifier.verify(G, edges(), weight());
+            return;
+        }
+        this.metrics = metrics;
+        int[] edgeIdTo = new int[G.V()];
+        edgeTo = new Edge[G.V()];
+        distTo = new double[G.V()];
+        marked = new boolean[G.V()];
+        pq = heap.create(G.V(), G.E());
+        for (int v = 0; v < G.V(); v++) {
+            distTo[v] = Double.POSITIVE_INFINITY;
+            edgeIdTo[v] = -1;
+        }
+
+        long start = metrics != null ? System.nanoTime() : 0L;
+        for (int v = 0; v < G.V(); v++)      // run from each vertex to find
+            if (!marked[v]) prim(G, v, edgeIdTo); // minimum spanning forest
+        if (metrics != null) metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
+
+        for (int v = 0; v < G.V(); v++)
+            if (edgeIdTo[v] >= 0) edgeTo[v] = G.toEdge(edgeIdTo[v]);
+
+        // check optimality conditions
+        assert MSTVerifier.verify(G, edges(), weight());
+    }
+
+    /** How the trees of a spanning forest are grown. */
+    public enum Mode {
+        /** one component after another on a single heap of size V */
+        SEQUENTIAL,
+        /** components labelled in parallel, then grown concurrently on right-sized heaps */
+        FOREST
+    }
+
+    /** Priority queue used by Prim's algorithm. */
+    public enum Heap {
+        /** d-ary heap with the arity picked from graph density. */
+        AUTO,
+        /** Binary heap. */
+        BINARY,
+        /** 4-ary heap. */
+        FOUR_ARY,
+        /** 8-ary heap. */
+        EIGHT_ARY,
+        /** Pairing heap: cheap decreaseKey, good for many equal (integer-like) weights. */
+        PAIRING,
+        /** algs4 IndexMinPQ&lt;Double&gt; (boxes every key); baseline for benchmarks. */
+        INDEX_MIN_PQ;
+
+        IndexHeap create(int V, int E) {
+            switch (this) {
+                case BINARY: return new IndexDaryHeap(V, 2);
+                case FOUR_ARY: return new IndexDaryHeap(V, 4);
+                case EIGHT_ARY: return new IndexDaryHeap(V, 8);
+                case PAIRING: return new IndexPairingHeap(V);
+                case INDEX_MIN_PQ: return new BoxedHeap(V);
+                case AUTO:
+                default: return new IndexDaryHeap(V, IndexDaryHeap.arityFor(V, E));
+            }
+        }
+    }
+
+    // adapter over algs4's IndexMinPQ<Double>, kept as a benchmark baseline
+    private static final class BoxedHeap implements IndexHeap {
+        private final IndexMinPQ<Double> pq;
+
+        BoxedHeap(int maxN) {
+            pq = new IndexMinPQ<Double>(maxN);
+        }
+
+        public boolean contains(int i) { return pq.contains(i); }
+        public boolean isEmpty() { return pq.isEmpty(); }
+        public int size() { return pq.size(); }
+        public void insert(int i, double key) { pq.insert(i, key); }
+        public void decreaseKey(int i, double key) { pq.decreaseKey(i, key); }
+        public int delMin() { return pq.delMin(); }
     }
 
     // run Prim's algorithm in graph G, starting from vertex s
@@ -80,79 +211,185 @@ public class PrimMST {
         }
     }
 
-    /** Returns the edges in a minimum spanning tree (or forest). */
-    public Iterable<Edge> edges() {
-        Queue<Edge> mst = new Queue<Edge>();
-        for (int v = 0; v < edgeTo.length; v++) {
-            Edge e = edgeTo[v];
-            if (e != null) {
-                mst.enqueue(e);
-            }
+    // run Prim's algorithm in CSR graph G, starting from vertex s
+    private void prim(CsrGraph G, int s, int[] edgeIdTo) {
+        distTo[s] = 0.0;
+        pq.insert(s, distTo[s]);
+        if (metrics != null) metrics.heapInsert();
+        while (!pq.isEmpty()) {
+            int v = pq.delMin();
+            if (metrics != null) metrics.delMin();
+            scan(G, v, edgeIdTo);
         }
-        return mst;
     }
 
-    /** Returns the sum of edge weights in the MST. */
-    public double weight() {
-        double weight = 0.0;
-        for (Edge e : edges())
-            weight += e.weight();
-        return weight;
-    }
+    // scan vertex v of a CSR graph
+    private void scan(CsrGraph G, int v, int[] edgeIdTo) {
+        marked[v] = true;
+        for (int i = G.begin(v); i < G.end(v); i++) {
+            operationCount++; // one edge processed
+            int w = G.target(i);
+            if (marked[w]) {                 // v-w is obsolete edge
+                if (metrics != null) metrics.rejectedEdge();
+                continue;
+            }
 
-    // check optimality conditions (same as original)
-    private boolean check(EdgeWeightedGraph G) {
+            // if we found a smaller edge to this vertex
+            int e = G.edgeId(i);
+            double weight = G.weight(e);
+            if (weight < distTo[w]) {
+                operationCount++; // successful comparison/update
+                distTo[w] = weight;
+                edgeIdTo[w] = e;
 
-        // check weight
-        double totalWeight = 0.0;
-        for (Edge e : edges()) {
-            totalWeight += e.weight();
-        }
-        if (Math.abs(totalWeight - weight()) > FLOATING_POINT_EPSILON) {
-            System.err.printf("Weight of edges does not equal weight(): %f vs. %f\n", totalWeight, weight());
-            return false;
+                if (pq.contains(w)) {
+                    pq.decreaseKey(w, distTo[w]);
+                    operationCount++; // decreaseKey operation
+                    if (metrics != null) metrics.decreaseKey();
+                } else {
+                    pq.insert(w, distTo[w]);
+                    operationCount++; // insert operation
+                    if (metrics != null) metrics.heapInsert();
+                }
+            } else if (metrics != null) {
+                metrics.rejectedEdge();
+            }
         }
+    }
 
-        // check that it is acyclic
-        UF uf = new UF(G.V());
-        for (Edge e : edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) == uf.find(w)) {
-                System.err.println("Not a forest");
-                return false;
-            }
-            uf.union(v, w);
+    // Mode.FOREST: label components, then run Prim on every component concurrently
+    private void forest(CsrGraph G, Heap heap, MSTMetrics metrics) {
+        int V = G.V();
+        long start = metrics != null ? System.nanoTime() : 0L;
+
+        // parallel component labelling
+        ConcurrentUF uf = new ConcurrentUF(V);
+        IntStream.range(0, G.E()).parallel().forEach(e -> uf.union(G.from(e), G.to(e)));
+        int[] root = new int[V];
+        IntStream.range(0, V).parallel().forEach(v -> root[v] = uf.find(v));
+
+        // group vertices by component: members[first[c] .. first[c + 1]) with local[v] their slot
+        int[] component = new int[V];
+        Arrays.fill(component, -1);
+        int count = 0;
+        for (int v = 0; v < V; v++)
+            if (component[root[v]] < 0) component[root[v]] = count++;
+        int C = count;
+        int[] first = new int[C + 1];
+        int[] edges = new int[C];
+        for (int v = 0; v < V; v++) first[component[root[v]] + 1]++;
+        for (int c = 0; c < C; c++) first[c + 1] += first[c];
+        for (int e = 0; e < G.E(); e++) edges[component[root[G.from(e)]]]++;
+        int[] members = new int[V];
+        int[] local = new int[V];
+        int[] fill = Arrays.copyOf(first, C);
+        for (int v = 0; v < V; v++) {
+            int c = component[root[v]];
+            local[v] = fill[c] - first[c];
+            members[fill[c]++] = v;
         }
 
-        // check that it is a spanning forest
-        for (Edge e : G.edges()) {
-            int v = e.either(), w = e.other(v);
-            if (uf.find(v) != uf.find(w)) {
-                System.err.println("Not a spanning forest");
-                return false;
+        // largest components first, so the big trees do not start last
+        long[] order = new long[C];
+        for (int c = 0; c < C; c++) order[c] = (long) (first[c + 1] - first[c]) << 32 | c;
+        Arrays.sort(order);
+
+        int[] edgeIdTo = new int[V];
+        Arrays.fill(edgeIdTo, -1);
+        distTo = new double[V];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        marked = new boolean[V];
+        LongAdder ops = new LongAdder();
+        CountingMetrics total = metrics != null ? new CountingMetrics() : null;
+        IntStream.range(0, C).parallel().forEach(i -> {
+            int c = (int) order[C - 1 - i];
+            int size = first[c + 1] - first[c];
+            if (size < 2) return;   // isolated vertex: nothing to grow
+            CountingMetrics counts = total != null ? new CountingMetrics() : null;
+            IndexHeap pq = heap.create(size, edges[c]);
+            ops.add(primComponent(G, pq, members, first[c], local, edgeIdTo, counts));
+            if (counts != null) synchronized (total) {
+                total.merge(counts);
             }
+        });
+        operationCount = ops.sum();
+        if (metrics != null) {
+            if (metrics instanceof CountingMetrics counting) counting.merge(total);
+            else total.replay(metrics);
+            metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
         }
 
-        // check minimality
-        for (Edge e : edges()) {
-            uf = new UF(G.V());
-            for (Edge f : edges()) {
-                int x = f.either(), y = f.other(x);
-                if (f != e) uf.union(x, y);
-            }
+        edgeTo = new Edge[V];
+        for (int v = 0; v < V; v++)
+            if (edgeIdTo[v] >= 0) edgeTo[v] = G.toEdge(edgeIdTo[v]);
+    }
 
-            for (Edge f : G.edges()) {
-                int x = f.either(), y = f.other(x);
-                if (uf.find(x) != uf.find(y)) {
-                    if (f.weight() < e.weight()) {
-                        System.err.println("Edge " + f + " violates cut optimality conditions");
-                        return false;
+    // grow the tree of one component; heap slot k holds vertex members[base + k]
+    private long primComponent(CsrGraph G, IndexHeap pq, int[] members, int base, int[] local,
+                               int[] edgeIdTo, MSTMetrics metrics) {
+        long ops = 0;
+        int s = members[base];
+        distTo[s] = 0.0;
+        pq.insert(0, 0.0);
+        if (metrics != null) metrics.heapInsert();
+        while (!pq.isEmpty()) {
+            int v = members[base + pq.delMin()];
+            if (metrics != null) metrics.delMin();
+            marked[v] = true;
+            for (int i = G.begin(v); i < G.end(v); i++) {
+                ops++; // one edge processed
+                int w = G.target(i);
+                if (marked[w]) {             // v-w is obsolete edge
+                    if (metrics != null) metrics.rejectedEdge();
+                    continue;
+                }
+
+                int e = G.edgeId(i);
+                double weight = G.weight(e);
+                if (weight < distTo[w]) {
+                    ops++; // successful comparison/update
+                    distTo[w] = weight;
+                    edgeIdTo[w] = e;
+
+                    if (pq.contains(local[w])) {
+                        pq.decreaseKey(local[w], weight);
+                        ops++; // decreaseKey operation
+                        if (metrics != null) metrics.decreaseKey();
+                    } else {
+                        pq.insert(local[w], weight);
+                        ops++; // insert operation
+                        if (metrics != null) metrics.heapInsert();
                     }
+                } else if (metrics != null) {
+                    metrics.rejectedEdge();
                 }
             }
         }
+        return ops;
+    }
 
-        return true;
+    /** Returns the edges in a minimum spanning tree (or forest). */
+    public Iterable<Edge> edges() {
+        if (mst == null) {   // collected once, on first use
+            Queue<Edge> edges = new Queue<Edge>();
+            double total = 0.0;
+            for (int v = 0; v < edgeTo.length; v++) {
+                Edge e = edgeTo[v];
+                if (e != null) {
+                    edges.enqueue(e);
+                    total += e.weight();
+                }
+            }
+            weight = total;
+            mst = edges;
+        }
+        return mst;
+    }
+
+    /** Returns the sum of edge weights in the MST. */
+    public double weight() {
+        edges();
+        return weight;
     }
 
     /** Unit test for manual verification */
@@ -0,0 +1,270 @@
+package algo;
+
+import edu.princeton.cs.algs4.*;
+
+import java.util.Arrays;
+
+/**
+ * Single-linkage clustering by Kruskal's greedy loop, stopped early.
+ *
+ * Cutting the k - 1 heaviest edges of a minimum spanning tree leaves the same
+ * k clusters as running Kruskal until only k components remain, so the loop
+ * simply stops after V - k unions, or at the first edge heavier than a
+ * distance threshold (edges above the threshold are dropped before sorting).
+ * The clusters are read straight off the union-find.
+ *
+ * Every union is recorded as a merge of the dendrogram: leaves are the
+ * vertices 0 .. V-1 and merge i creates node V + i joining {@link #left(int)}
+ * and {@link #right(int)} at {@link #height(int)}, with heights non-decreasing.
+ * {@link #assignments(int...)} and {@link #assignmentsAt(double...)} replay
+ * that history once to cut it at many k or thresholds, without sorting again.
+ *
+ * Counts:
+ *  - edge comparisons (each edge processed)
+ *  - calls to find() and union() in UF
+ *  - merges recorded
+ */
+public class SingleLinkage {
+    private final int V;
+    private final int[] edge;        // edge[i] = graph edge id of merge i
+    private final int[] left;        // left[i], right[i] = dendrogram nodes joined by merge i
+    private final int[] right;
+    private final double[] height;   // height[i] = weight of merge i
+    private final boolean complete;  // true if every edge was considered: no further merge exists
+    private final double exactBelow; // the history holds every merge lighter than this
+    private final int[] assignment;  // cluster of every vertex when the loop stopped
+
+    private long operationCount = 0;
+
+    /** Returns number of recorded operations */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Clusters the vertices of {@code G} into {@code k} clusters (more if the
+     * graph has more than {@code k} connected components).
+     * @param G the compact edge-weighted graph
+     * @param k number of clusters, between 1 and V
+     */
+    public SingleLinkage(CsrGraph G, int k) {
+        this(G, k, Double.POSITIVE_INFINITY, null);
+    }
+
+    /**
+     * Runs Kruskal until {@code k} clusters remain or the next edge is heavier
+     * than {@code maxWeight}, whichever comes first, reporting sort comparisons,
+     * find path lengths, unions and sort/greedy times to {@code metrics}.
+     * @param G the compact edge-weighted graph
+     * @param k number of clusters to stop at, between 1 and V (1: threshold only)
+     * @param maxWeight heaviest edge that may join two clusters
+     * @param metrics collector, or null for no instrumentation
+     */
+    public SingleLinkage(CsrGraph G, int k, double maxWeight, MSTMetrics metrics) {
+        V = G.V();
+        if (k < 1 || k > Math.max(V, 1))
+            throw new IllegalArgumentException("k must be between 1 and " + V + ": " + k);
+        if (Double.isNaN(maxWeight)) throw new IllegalArgumentException("maxWeight is NaN");
+
+        // edge ids within the threshold, sorted by (weight, id)
+        long start = metrics != null ? System.nanoTime() : 0L;
+        int[] ids = new int[G.E()];
+        int n = 0;
+        for (int e = 0; e < G.E(); e++) if (G.weight(e) <= maxWeight) ids[n++] = e;
+        if (n < ids.length) ids = Arrays.copyOf(ids, n);
+        long comparisons = EdgeSort.sort(G, ids);
+        operationCount += (long) (n * (Math.log(Math.max(n, 1)) / Math.log(2))); // rough cost of sort
+        if (metrics != null) {
+            metrics.sortComparisons(comparisons);
+            metrics.phase(MSTMetrics.Phase.SORT, System.nanoTime() - start);
+            start = System.nanoTime();
+        }
+
+        // greedy loop, stopped after V - k unions
+        int target = Math.max(V - k, 0);
+        int[] edge = new int[target], left = new int[target], right = new int[target];
+        double[] height = new double[target];
+        int[] top = new int[V];            // top[r] = dendrogram node of the set whose UF root is r
+        for (int v = 0; v < V; v++) top[v] = v;
+        UnionFind uf = new UnionFind(V);
+        int m = 0, i = 0;
+        for (; i < n && m < target; i++) {
+            int e = ids[i];
+            operationCount++; // processing edge
+            int v = G.from(e);
+            int w = G.to(e);
+
+            operationCount += 2; // two find() calls
+            if (metrics != null) {
+                metrics.findPath(uf.depth(v));
+                metrics.findPath(uf.depth(w));
+            }
+            int rv = uf.find(v), rw = uf.find(w);
+            if (rv == rw) {
+                if (metrics != null) metrics.rejectedEdge();
+                continue;
+            }
+            uf.union(rv, rw);
+            operationCount++; // one union()
+            if (metrics != null) metrics.union();
+            edge[m] = e;
+            left[m] = top[rv];
+            right[m] = top[rw];
+            height[m] = G.weight(e);
+            top[uf.find(rv)] = V + m;
+            m++;
+            operationCount++; // merge recorded
+        }
+        if (metrics != null) metrics.phase(MSTMetrics.Phase.GREEDY, System.nanoTime() - start);
+
+        this.complete = i == n && maxWeight == Double.POSITIVE_INFINITY;
+        this.exactBelow = i < n ? G.weight(ids[i]) : Math.nextUp(maxWeight);
+        this.edge = Arrays.copyOf(edge, m);
+        this.left = Arrays.copyOf(left, m);
+        this.right = Arrays.copyOf(right, m);
+        this.height = Arrays.copyOf(height, m);
+        this.assignment = labels(uf);
+    }
+
+    /**
+     * Returns the cluster of every vertex, numbered 0 .. clusters() - 1 in
+     * order of each cluster's smallest vertex.
+     */
+    public int[] assignment() {
+        return assignment.clone();
+    }
+
+    /** Returns the number of clusters. */
+    public int clusters() {
+        return V - left.length;
+    }
+
+    /** Returns the number of merges in the dendrogram. */
+    public int merges() {
+        return left.length;
+    }
+
+    /** Returns the first dendrogram node joined by merge {@code i}: a vertex, or V + an earlier merge. */
+    public int left(int i) {
+        return left[i];
+    }
+
+    /** Returns the second dendrogram node joined by merge {@code i}. */
+    public int right(int i) {
+        return right[i];
+    }
+
+    /** Returns the weight at which merge {@code i} happened. */
+    public double height(int i) {
+        return height[i];
+    }
+
+    /** Returns the id, in the graph, of the edge behind merge {@code i}. */
+    public int edge(int i) {
+        return edge[i];
+    }
+
+    /**
+     * Returns the assignment for every k in {@code ks}, in the given order,
+     * from one replay of the merge history. A k below what the graph's
+     * components allow yields one cluster per component.
+     * @throws IllegalArgumentException if a k is out of range, or needs merges
+     *         past where this clustering stopped
+     */
+    public int[][] assignments(int... ks) {
+        int[] counts = new int[ks.length];
+        for (int j = 0; j < ks.length; j++) {
+            if (ks[j] < 1 || ks[j] > Math.max(V, 1))
+                throw new IllegalArgumentException("k must be between 1 and " + V + ": " + ks[j]);
+            counts[j] = V - ks[j];
+            if (counts[j] > merges()) {
+                if (!complete)
+                    throw new IllegalArgumentException("k = " + ks[j] + " is below the " + clusters()
+                            + " clusters this clustering stopped at");
+                counts[j] = merges();
+            }
+        }
+        return replay(counts);
+    }
+
+    /**
+     * Returns the assignment for every threshold in {@code thresholds}, in the
+     * given order: clusters joined by edges of weight at most the threshold.
+     * @throws IllegalArgumentException if a threshold lies beyond where this
+     *         clustering stopped
+     */
+    public int[][] assignmentsAt(double... thresholds) {
+        int[] counts = new int[thresholds.length];
+        for (int j = 0; j < thresholds.length; j++) {
+            double t = thresholds[j];
+            if (Double.isNaN(t)) throw new IllegalArgumentException("threshold is NaN");
+            // merges with height <= t form a prefix, since heights are non-decreasing
+            int lo = 0, hi = merges();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (height[mid] <= t) lo = mid + 1;
+                else hi = mid;
+            }
+            if (t >= exactBelow && !complete)
+                throw new IllegalArgumentException("threshold " + t + " lies beyond where this clustering stopped");
+            counts[j] = lo;
+        }
+        return replay(counts);
+    }
+
+    // assignments after the first counts[j] merges, replaying the history once in increasing count
+    private int[][] replay(int[] counts) {
+        Integer[] byCount = new Integer[counts.length];
+        for (int j = 0; j < counts.length; j++) byCount[j] = j;
+        Arrays.sort(byCount, (a, b) -> Integer.compare(counts[a], counts[b]));
+
+        int[][] result = new int[counts.length][];
+        int[] leaf = new int[merges()];    // leaf[i] = a vertex under node V + i
+        UnionFind uf = new UnionFind(V);
+        int done = 0;
+        for (int j : byCount) {
+            for (; done < counts[j]; done++) {
+                int a = left[done] < V ? left[done] : leaf[left[done] - V];
+                int b = right[done] < V ? right[done] : leaf[right[done] - V];
+                uf.union(a, b);
+                leaf[done] = a;
+                operationCount += 3; // two find() calls and one union()
+            }
+            result[j] = labels(uf);
+        }
+        return result;
+    }
+
+    // cluster of every vertex, numbered in order of the smallest vertex
+    private int[] labels(UnionFind uf) {
+        int[] label = new int[V];
+        int[] byRoot = new int[V];
+        Arrays.fill(byRoot, -1);
+        int next = 0;
+        for (int v = 0; v < V; v++) {
+            int r = uf.find(v);
+            if (byRoot[r] < 0) byRoot[r] = next++;
+            label[v] = byRoot[r];
+        }
+        return label;
+    }
+
+    /**
+     * Unit test for manual verification: {@code java algo.SingleLinkage graph.txt k}
+     * prints the merge history and the cluster of every vertex.
+     */
+    public static void main(String[] args) {
+        In in = new In(args[0]);
+        CsrGraph G = CsrGraph.from(new EdgeWeightedGraph(in));
+        SingleLinkage clustering = new SingleLinkage(G, Integer.parseInt(args[1]));
+        for (int i = 0; i < clustering.merges(); i++) {
+            StdOut.printf("%d: %d + %d at %.5f\n", G.V() + i, clustering.left(i), clustering.right(i), clustering.height(i));
+        }
+        int[] assignment = clustering.assignment();
+        for (int v = 0; v < G.V(); v++) {
+            StdOut.printf("%d -> %d\n", v, assignment[v]);
+        }
+        StdOut.printf("Clusters: %d\n", clustering.clusters());
+        StdOut.printf("Operations: %d\n", clustering.getOperationCount());
+    }
+}
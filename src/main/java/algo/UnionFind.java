@@ -0,0 +1,66 @@
+package algo;
+
+/**
+ * Sequential weighted quick-union with path halving over an {@code int[]}.
+ *
+ * Same behaviour as algs4's {@code UF}, plus {@link #depth(int)} so that
+ * instrumented runs can record find path lengths without slowing down
+ * uninstrumented ones.
+ */
+public final class UnionFind {
+    private final int[] parent;   // parent[i] = parent of i
+    private final byte[] rank;    // rank[i] = rank of subtree rooted at i (never more than 31)
+    private int count;            // number of components
+
+    public UnionFind(int n) {
+        if (n < 0) throw new IllegalArgumentException("Number of elements must be non-negative");
+        count = n;
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+    }
+
+    /** Returns the canonical element of the set containing {@code p}. */
+    public int find(int p) {
+        while (p != parent[p]) {
+            parent[p] = parent[parent[p]];    // path compression by halving
+            p = parent[p];
+        }
+        return p;
+    }
+
+    /** Returns the number of parent links between {@code p} and its root (read-only). */
+    public int depth(int p) {
+        int d = 0;
+        while (p != parent[p]) {
+            p = parent[p];
+            d++;
+        }
+        return d;
+    }
+
+    /** Returns the number of sets. */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Merges the sets containing {@code p} and {@code q}.
+     * Returns false if they were already in the same set.
+     */
+    public boolean union(int p, int q) {
+        int rootP = find(p);
+        int rootQ = find(q);
+        if (rootP == rootQ) return false;
+
+        // make root of smaller rank point to root of larger rank
+        if (rank[rootP] < rank[rootQ]) parent[rootP] = rootQ;
+        else if (rank[rootP] > rank[rootQ]) parent[rootQ] = rootP;
+        else {
+            parent[rootQ] = rootP;
+            rank[rootP]++;
+        }
+        count--;
+        return true;
+    }
+}
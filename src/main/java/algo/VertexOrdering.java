@@ -0,0 +1,130 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Vertex relabelling for memory locality.
+ *
+ * Input files number vertices in whatever order labels happen to appear, so
+ * on large graphs the per-vertex arrays of the MST engines ({@code distTo},
+ * {@code marked}, heap positions, union-find parents) are touched almost at
+ * random. Renumbering so that neighbours get nearby ids keeps those accesses
+ * within a few cache lines:
+ *  - BFS: breadth-first order, one component after another
+ *  - RCM: reverse Cuthill-McKee, BFS from a minimum-degree vertex with
+ *    neighbours taken in increasing degree, then reversed; keeps the
+ *    bandwidth (largest id distance across an edge) small
+ *  - DEGREE: decreasing degree, so hub vertices share cache lines
+ *
+ * {@link #permutation(CsrGraph)} returns {@code perm} with {@code perm[old] = new};
+ * {@link CsrGraph#permute(int[])} applies it, keeping edge ids, and
+ * {@link #inverse(int[])} maps new ids back to the original ones.
+ */
+public enum VertexOrdering {
+    BFS {
+        @Override
+        int[] order(CsrGraph G) {
+            int V = G.V();
+            int[] order = new int[V];
+            boolean[] seen = new boolean[V];
+            int tail = 0;
+            for (int s = 0; s < V; s++) {
+                if (seen[s]) continue;
+                seen[s] = true;
+                int head = tail;
+                order[tail++] = s;
+                while (head < tail) {
+                    int v = order[head++];
+                    for (int i = G.begin(v); i < G.end(v); i++) {
+                        int w = G.target(i);
+                        if (!seen[w]) {
+                            seen[w] = true;
+                            order[tail++] = w;
+                        }
+                    }
+                }
+            }
+            return order;
+        }
+    },
+
+    RCM {
+        @Override
+        int[] order(CsrGraph G) {
+            int V = G.V();
+            int[] order = new int[V];
+            boolean[] seen = new boolean[V];
+            long[] buf = new long[16];       // unvisited neighbours of one vertex, packed (degree, id)
+            int tail = 0;
+            for (int s : byDegree(G, false)) {          // every component starts at its minimum-degree vertex
+                if (seen[s]) continue;
+                seen[s] = true;
+                int head = tail;
+                order[tail++] = s;
+                while (head < tail) {
+                    int v = order[head++];
+                    int n = 0;
+                    for (int i = G.begin(v); i < G.end(v); i++) {
+                        int w = G.target(i);
+                        if (seen[w]) continue;
+                        seen[w] = true;
+                        if (n == buf.length) buf = Arrays.copyOf(buf, 2 * n);
+                        buf[n++] = (long) G.degree(w) << 32 | w;
+                    }
+                    Arrays.sort(buf, 0, n);
+                    for (int k = 0; k < n; k++) order[tail++] = (int) buf[k];
+                }
+            }
+            for (int i = 0, j = V - 1; i < j; i++, j--) {
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            return order;
+        }
+    },
+
+    DEGREE {
+        @Override
+        int[] order(CsrGraph G) {
+            return byDegree(G, true);
+        }
+    };
+
+    // vertices listed in their new order: order[new] = old
+    abstract int[] order(CsrGraph G);
+
+    /** Returns the relabelling of {@code G}'s vertices: {@code perm[old] = new}. */
+    public int[] permutation(CsrGraph G) {
+        return inverse(order(G));
+    }
+
+    /** Returns the inverse permutation: {@code inverse(perm)[perm[v]] = v}. */
+    public static int[] inverse(int[] perm) {
+        int[] inv = new int[perm.length];
+        for (int v = 0; v < perm.length; v++) inv[perm[v]] = v;
+        return inv;
+    }
+
+    /** Parses "bfs", "rcm" or "degree" (any case). */
+    public static VertexOrdering parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown vertex ordering \"" + name + "\" (bfs, rcm, degree)");
+        }
+    }
+
+    // vertices by degree (counting sort, ties by id), increasing or decreasing
+    private static int[] byDegree(CsrGraph G, boolean decreasing) {
+        int V = G.V(), max = 0;
+        for (int v = 0; v < V; v++) max = Math.max(max, G.degree(v));
+        int[] start = new int[max + 2];
+        for (int v = 0; v < V; v++) start[(decreasing ? max - G.degree(v) : G.degree(v)) + 1]++;
+        for (int d = 0; d <= max; d++) start[d + 1] += start[d];
+        int[] order = new int[V];
+        for (int v = 0; v < V; v++) order[start[decreasing ? max - G.degree(v) : G.degree(v)]++] = v;
+        return order;
+    }
+}
@@ -0,0 +1,192 @@
+package gen;
+
+import algo.CsrGraph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded, reproducible random graphs for scaling tests.
+ *
+ * Topologies:
+ *  - SPARSE: a random spanning tree plus uniformly random extra edges (connected;
+ *    self-loops and parallel edges are possible, as in real inputs)
+ *  - DENSE: Erdős–Rényi G(V, p) with p chosen for E expected edges, drawn by
+ *    geometric skipping (Batagelj–Brandes) in O(V + E)
+ *  - GRID: 4-neighbour grid of about sqrt(V) x sqrt(V) vertices (E is ignored)
+ *  - POWER_LAW: Barabási–Albert preferential attachment with E / V edges per new vertex
+ *  - GEOMETRIC: random points in the unit square joined when closer than a radius
+ *    chosen for E expected edges; weights are the Euclidean lengths
+ *
+ * The same {@link GraphSpec} always gives the same graph.
+ */
+public final class GraphGenerator {
+
+    /** Shape of the generated graph. */
+    public enum Topology { SPARSE, DENSE, GRID, POWER_LAW, GEOMETRIC }
+
+    /** Edge weight distribution (GEOMETRIC graphs use edge lengths instead). */
+    public enum Weights {
+        /** uniform real in [0, 100) */
+        UNIFORM,
+        /** uniform integer in [1, 1 000 000] */
+        INTEGER,
+        /** uniform integer in [1, 10]: many equal weights */
+        DUPLICATE,
+        /** exponential with mean 10: many light edges, a long heavy tail */
+        EXPONENTIAL
+    }
+
+    private GraphGenerator() {
+    }
+
+    /** Generates the graph described by {@code spec}. */
+    public static CsrGraph generate(GraphSpec spec) {
+        return edges(spec).build();
+    }
+
+    /** Generates a graph; see {@link GraphSpec} for the meaning of the arguments. */
+    public static CsrGraph generate(Topology topology, int V, long E, Weights weights, long seed) {
+        return generate(new GraphSpec(topology, V, E, weights, seed));
+    }
+
+    /** Draws the edges of {@code spec} into a builder (the CSR arrays are not built yet). */
+    static CsrGraph.Builder edges(GraphSpec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        switch (spec.topology()) {
+            case SPARSE: return sparse(spec.V(), spec.E(), spec.weights(), random);
+            case DENSE: return dense(spec.V(), spec.E(), spec.weights(), random);
+            case GRID: return grid(spec.V(), spec.weights(), random);
+            case POWER_LAW: return powerLaw(spec.V(), spec.E(), spec.weights(), random);
+            case GEOMETRIC: return geometric(spec.V(), spec.E(), random);
+            default: throw new IllegalArgumentException("Unknown topology: " + spec.topology());
+        }
+    }
+
+    private static CsrGraph.Builder sparse(int V, long E, Weights weights, SplittableRandom random) {
+        int target = edgeCount(Math.max(E, V - 1L));
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, target);
+        for (int v = 1; v < V; v++) {
+            builder.addEdge(random.nextInt(v), v, weight(random, weights));
+        }
+        while (builder.E() < target) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), weight(random, weights));
+        }
+        return builder;
+    }
+
+    private static CsrGraph.Builder dense(int V, long E, Weights weights, SplittableRandom random) {
+        double pairs = (double) V * (V - 1) / 2;
+        double p = pairs == 0 ? 0 : Math.min(1.0, E / pairs);
+        double mean = p * pairs;   // capacity: mean plus four standard deviations
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, edgeCount((long) (mean + 4 * Math.sqrt(mean) + 16)));
+        if (p <= 0) return builder;
+        if (p >= 1) {
+            for (int v = 1; v < V; v++)
+                for (int w = 0; w < v; w++) builder.addEdge(v, w, weight(random, weights));
+            return builder;
+        }
+
+        // jump over the pairs (v, w), w < v, that are not drawn
+        double logq = Math.log(1.0 - p);
+        int v = 1;
+        long w = -1;
+        while (v < V) {
+            w += 1 + (long) Math.floor(Math.log(1.0 - random.nextDouble()) / logq);
+            while (w >= v && v < V) {
+                w -= v;
+                v++;
+            }
+            if (v < V) builder.addEdge(v, (int) w, weight(random, weights));
+        }
+        return builder;
+    }
+
+    private static CsrGraph.Builder grid(int V, Weights weights, SplittableRandom random) {
+        int cols = (int) Math.ceil(Math.sqrt(V));
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, edgeCount(2L * V));
+        for (int v = 0; v < V; v++) {
+            if ((v + 1) % cols != 0 && v + 1 < V) builder.addEdge(v, v + 1, weight(random, weights));
+            if (v + cols < V) builder.addEdge(v, v + cols, weight(random, weights));
+        }
+        return builder;
+    }
+
+    private static CsrGraph.Builder powerLaw(int V, long E, Weights weights, SplittableRandom random) {
+        int m = (int) Math.max(1, Math.min(Math.round((double) E / Math.max(V, 1)), Integer.MAX_VALUE / 2));
+        int expected = edgeCount((long) m * Math.max(V - 1, 0));
+        int endpoints = edgeCount(2L * expected);   // checked before anything is allocated
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, expected);
+
+        // every edge endpoint once: a uniform pick from it is a degree-proportional pick of a vertex
+        int[] ends = new int[Math.max(endpoints, 1)];
+        int size = 0;
+        for (int v = 1; v < V; v++) {
+            for (int j = 0; j < Math.min(m, v); j++) {
+                int t = size == 0 ? 0 : ends[random.nextInt(size)];
+                builder.addEdge(t, v, weight(random, weights));
+                ends[size++] = t;
+                ends[size++] = v;
+            }
+        }
+        return builder;
+    }
+
+    private static CsrGraph.Builder geometric(int V, long E, SplittableRandom random) {
+        double[] x = new double[V], y = new double[V];
+        for (int v = 0; v < V; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+        // expected pairs closer than r: V^2 / 2 * pi * r^2 (ignoring the border)
+        double r = V < 2 ? 0 : Math.min(Math.sqrt(2.0 * E / (Math.PI * V * (double) V)), 1.5);
+
+        // bucket points into square cells of side >= r, so neighbours are in adjacent cells
+        int cells = (int) Math.max(1, Math.min(r > 0 ? Math.floor(1 / r) : 1, Math.ceil(Math.sqrt(V))));
+        int[] cellOf = new int[V];
+        int[] start = new int[cells * cells + 1];
+        for (int v = 0; v < V; v++) {
+            cellOf[v] = cell(x[v], cells) * cells + cell(y[v], cells);
+            start[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) start[c + 1] += start[c];
+        int[] members = new int[V];
+        int[] next = start.clone();
+        for (int v = 0; v < V; v++) members[next[cellOf[v]]++] = v;
+
+        CsrGraph.Builder builder = new CsrGraph.Builder(V, edgeCount(E));
+        for (int v = 0; v < V; v++) {
+            int cx = cellOf[v] / cells, cy = cellOf[v] % cells;
+            for (int i = Math.max(cx - 1, 0); i <= Math.min(cx + 1, cells - 1); i++) {
+                for (int j = Math.max(cy - 1, 0); j <= Math.min(cy + 1, cells - 1); j++) {
+                    int c = i * cells + j;
+                    for (int k = start[c]; k < start[c + 1]; k++) {
+                        int w = members[k];
+                        if (w <= v) continue;   // each pair once
+                        double d = Math.hypot(x[v] - x[w], y[v] - y[w]);
+                        if (d <= r) builder.addEdge(v, w, d);
+                    }
+                }
+            }
+        }
+        return builder;
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min((int) (coordinate * cells), cells - 1);
+    }
+
+    private static int edgeCount(long E) {
+        if (E > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many edges: " + E);
+        return (int) E;
+    }
+
+    private static double weight(SplittableRandom random, Weights weights) {
+        switch (weights) {
+            case UNIFORM: return random.nextDouble() * 100.0;
+            case INTEGER: return random.nextInt(1, 1_000_001);
+            case DUPLICATE: return random.nextInt(1, 11);
+            case EXPONENTIAL: return -10.0 * Math.log(1.0 - random.nextDouble());
+            default: throw new IllegalArgumentException("Unknown weight distribution: " + weights);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package gen;
+
+import gen.GraphGenerator.Topology;
+import gen.GraphGenerator.Weights;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parameters of one generated graph, written as
+ * {@code topology:V:E[:weights[:seed]]}, e.g. {@code power_law:1000000:8e6:uniform:42}.
+ * Counts may use exponent notation; weights default to uniform and the seed to 42.
+ */
+public final class GraphSpec {
+    public static final long DEFAULT_SEED = 42L;
+
+    private final Topology topology;
+    private final int V;
+    private final long E;
+    private final Weights weights;
+    private final long seed;
+
+    public GraphSpec(Topology topology, int V, long E, Weights weights, long seed) {
+        if (V < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        if (E < 0) throw new IllegalArgumentException("Number of edges must be non-negative");
+        if (V == 0 && E > 0) throw new IllegalArgumentException("Edges need at least one vertex");
+        this.topology = topology;
+        this.V = V;
+        this.E = E;
+        this.weights = weights;
+        this.seed = seed;
+    }
+
+    /** Parses {@code topology:V:E[:weights[:seed]]}. */
+    public static GraphSpec parse(String text) {
+        String[] parts = text.split(":");
+        if (parts.length < 3 || parts.length > 5)
+            throw new IllegalArgumentException("Expected topology:V:E[:weights[:seed]] but got \"" + text + "\"");
+        Topology topology = Topology.valueOf(parts[0].toUpperCase(Locale.ROOT));
+        long V = count(parts[1]);
+        if (V > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + V);
+        long E = count(parts[2]);
+        Weights weights = parts.length > 3 ? Weights.valueOf(parts[3].toUpperCase(Locale.ROOT)) : Weights.UNIFORM;
+        long seed = parts.length > 4 ? Long.parseLong(parts[4]) : DEFAULT_SEED;
+        return new GraphSpec(topology, (int) V, E, weights, seed);
+    }
+
+    private static long count(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return (long) Double.parseDouble(text);   // 1e6, 2.5e7, ...
+        }
+    }
+
+    /**
+     * Default scaling sweep: sparse, grid, power-law and geometric graphs with
+     * average degree 8 for V = 10^3 .. 10^6, and dense graphs (10% of all
+     * pairs) for V = 10^3 and 10^4.
+     */
+    public static List<GraphSpec> sweep(long seed) {
+        List<GraphSpec> specs = new ArrayList<>();
+        for (Topology topology : Topology.values()) {
+            int maxV = topology == Topology.DENSE ? 10_000 : 1_000_000;
+            for (int V = 1_000; V <= maxV; V *= 10) {
+                long E = topology == Topology.DENSE ? (long) V * (V - 1) / 20 : 4L * V;
+                specs.add(new GraphSpec(topology, V, E, Weights.UNIFORM, seed));
+            }
+        }
+        return specs;
+    }
+
+    public Topology topology() {
+        return topology;
+    }
+
+    /** Returns the number of vertices. */
+    public int V() {
+        return V;
+    }
+
+    /** Returns the requested (or expected) number of edges. */
+    public long E() {
+        return E;
+    }
+
+    public Weights weights() {
+        return weights;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return topology.name().toLowerCase(Locale.ROOT) + ":" + V + ":" + E + ":"
+                + weights.name().toLowerCase(Locale.ROOT) + ":" + seed;
+    }
+}
@@ -0,0 +1,82 @@
+package io;
+
+import algo.CountingMetrics;
+import edu.princeton.cs.algs4.Edge;
+
+/**
+ * Outcome of one MST algorithm on one graph, as written by {@link ResultWriter}.
+ */
+public final class AlgorithmResult {
+    private final String name;
+    private final Iterable<Edge> mstEdges;
+    private final double totalCost;
+    private final long operationsCount;
+    private final double executionTimeMs;
+    private final Boolean verified;           // null when verification was not requested
+    private final CountingMetrics metrics;    // null when no collector was attached
+    private final boolean cached;             // taken from the ResultCache instead of computed
+
+    public AlgorithmResult(String name, Iterable<Edge> mstEdges, double totalCost, long operationsCount,
+                           double executionTimeMs, Boolean verified, CountingMetrics metrics) {
+        this(name, mstEdges, totalCost, operationsCount, executionTimeMs, verified, metrics, false);
+    }
+
+    public AlgorithmResult(String name, Iterable<Edge> mstEdges, double totalCost, long operationsCount,
+                           double executionTimeMs, Boolean verified, CountingMetrics metrics, boolean cached) {
+        this.name = name;
+        this.mstEdges = mstEdges;
+        this.totalCost = totalCost;
+        this.operationsCount = operationsCount;
+        this.executionTimeMs = executionTimeMs;
+        this.verified = verified;
+        this.metrics = metrics;
+        this.cached = cached;
+    }
+
+    /** Returns the algorithm name used as JSON key and CSV value ("prim", "kruskal", ...). */
+    public String name() {
+        return name;
+    }
+
+    public Iterable<Edge> mstEdges() {
+        return mstEdges;
+    }
+
+    public double totalCost() {
+        return totalCost;
+    }
+
+    public long operationsCount() {
+        return operationsCount;
+    }
+
+    public double executionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public Boolean verified() {
+        return verified;
+    }
+
+    public CountingMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns true if this result was read from the {@link ResultCache}; the execution time and the
+     * sort/greedy/verify phases are those of the original run.
+     */
+    public boolean cached() {
+        return cached;
+    }
+
+    /** Returns this result with its verification outcome replaced. */
+    public AlgorithmResult withVerified(Boolean verified) {
+        return new AlgorithmResult(name, mstEdges, totalCost, operationsCount, executionTimeMs, verified, metrics, cached);
+    }
+
+    /** Returns this result with its metrics replaced. */
+    public AlgorithmResult withMetrics(CountingMetrics metrics) {
+        return new AlgorithmResult(name, mstEdges, totalCost, operationsCount, executionTimeMs, verified, metrics, cached);
+    }
+}
@@ -0,0 +1,431 @@
+package io;
+
+import algo.CsrGraph;
+import algo.EdgeStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact little-endian binary graph format, read through {@link FileChannel#map}.
+ *
+ * <pre>
+ * file   := header graph*
+ * header := int magic ("MSTG") | int version | int flags | int graphCount
+ * graph  := int id | int V | int E | uint labelBytes
+ *           label table (V x { int length | UTF-8 bytes }), zero-padded to 8 bytes
+ *           int[E] from | int[E] to | double[E] or float[E] weight, zero-padded to 8 bytes
+ * </pre>
+ *
+ * Section sizes in a header are checked against the file before anything is
+ * mapped, so a corrupt header fails with an {@link IOException}.
+ * Flag bit 0 selects {@code float} weights (half the size, ~7 significant digits).
+ * Edge arrays are bulk-copied out of the mapping into the primitive arrays of a
+ * {@link CsrGraph}; there is no text parsing. Each graph is mapped on its own,
+ * so a single graph section must stay below 2 GB.
+ *
+ * Convert once from the JSON layout with
+ * {@code java io.BinaryGraphFormat data/large.json data/large.mstg [--float]}.
+ */
+public final class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D;      // bytes "MSTG" when written little-endian
+    static final int VERSION = 1;
+    static final int FLAG_FLOAT_WEIGHTS = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int GRAPH_HEADER_BYTES = 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int STREAM_WINDOW_EDGES = 1 << 18;
+    private static final long MAX_LABEL_BYTES = 0xFFFFFFFFL;   // stored as an unsigned int
+
+    private BinaryGraphFormat() {
+    }
+
+    /** Converts a JSON dataset file into the binary format, one graph at a time. */
+    public static void convert(Path json, Path binary, boolean floatWeights) throws IOException {
+        try (JsonGraphLoader loader = JsonGraphLoader.open(json)) {
+            write(loader, binary, floatWeights);
+        }
+    }
+
+    /** Writes every graph of {@code source} to {@code binary}. */
+    public static void write(GraphSource source, Path binary, boolean floatWeights) throws IOException {
+        try (FileChannel out = FileChannel.open(binary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(floatWeights ? FLAG_FLOAT_WEIGHTS : 0).putInt(0);
+
+            int graphs = 0;
+            while (source.hasNext()) {
+                writeGraph(out, buf, source.next(), floatWeights);
+                graphs++;
+            }
+            flush(out, buf);
+
+            // patch the graph count now that it is known
+            ByteBuffer count = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(graphs);
+            count.flip();
+            out.write(count, 12);
+        }
+    }
+
+    private static void writeGraph(FileChannel out, ByteBuffer buf, GraphInput input, boolean floatWeights)
+            throws IOException {
+        CsrGraph G = input.graph();
+        byte[][] labels = new byte[G.V()][];
+        long labelBytes = 0;
+        for (int v = 0; v < G.V(); v++) {
+            labels[v] = input.label(v).getBytes(StandardCharsets.UTF_8);
+            labelBytes += 4 + labels[v].length;
+        }
+        if (labelBytes > MAX_LABEL_BYTES)
+            throw new IOException("Graph " + input.id() + ": label table of " + labelBytes + " bytes exceeds 4 GB");
+
+        ensure(out, buf, GRAPH_HEADER_BYTES);
+        buf.putInt(input.id()).putInt(G.V()).putInt(G.E()).putInt((int) labelBytes);
+        for (byte[] label : labels) {
+            ensure(out, buf, 4);
+            buf.putInt(label.length);
+            for (int off = 0; off < label.length; ) {
+                ensure(out, buf, 1);
+                int n = Math.min(buf.remaining(), label.length - off);
+                buf.put(label, off, n);
+                off += n;
+            }
+        }
+        pad(out, buf, labelBytes);
+
+        for (int e = 0; e < G.E(); e++) {
+            ensure(out, buf, 4);
+            buf.putInt(G.from(e));
+        }
+        for (int e = 0; e < G.E(); e++) {
+            ensure(out, buf, 4);
+            buf.putInt(G.to(e));
+        }
+        for (int e = 0; e < G.E(); e++) {
+            if (floatWeights) {
+                ensure(out, buf, 4);
+                buf.putFloat((float) G.weight(e));
+            } else {
+                ensure(out, buf, 8);
+                buf.putDouble(G.weight(e));
+            }
+        }
+        pad(out, buf, (long) G.E() * (floatWeights ? 12 : 16));
+    }
+
+    // zero bytes so that a section of 'length' bytes ends on an 8-byte boundary
+    private static void pad(FileChannel out, ByteBuffer buf, long length) throws IOException {
+        int padding = (int) ((8 - (length & 7)) & 7);
+        ensure(out, buf, padding);
+        for (int i = 0; i < padding; i++) buf.put((byte) 0);
+    }
+
+    private static void ensure(FileChannel out, ByteBuffer buf, int bytes) throws IOException {
+        if (buf.remaining() < bytes) flush(out, buf);
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    /** Opens a binary graph file for reading. */
+    public static Reader open(Path binary) throws IOException {
+        return new Reader(binary);
+    }
+
+    /**
+     * Reads graphs from a binary file by mapping one graph section at a time.
+     * The offset of every section read is remembered, so {@link #edges(int)}
+     * finds a graph's edge arrays without walking the file again.
+     */
+    public static final class Reader implements GraphSource {
+        private final Path file;
+        private final FileChannel channel;
+        private final boolean floatWeights;
+        private final int graphCount;
+        private int graphsRead;
+        private long position = HEADER_BYTES;
+        private long[] offsets = new long[16];   // offsets[i] = file offset of graph i, for i < known
+        private int known;
+
+        private Reader(Path binary) throws IOException {
+            file = binary;
+            channel = FileChannel.open(binary, StandardOpenOption.READ);
+            ByteBuffer header = map(0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException(binary + " is not a binary graph file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                channel.close();
+                throw new IOException(binary + ": unsupported format version " + version);
+            }
+            floatWeights = (header.getInt() & FLAG_FLOAT_WEIGHTS) != 0;
+            graphCount = header.getInt();
+            offsets[0] = HEADER_BYTES;
+            known = graphCount > 0 ? 1 : 0;
+        }
+
+        /** Returns the number of graphs in the file. */
+        public int graphCount() {
+            return graphCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return graphsRead < graphCount;
+        }
+
+        @Override
+        public GraphInput next() {
+            return read(true);
+        }
+
+        /**
+         * Reads the id, labels and size of the next graph but not its edges
+         * ({@link GraphInput#unloaded}), e.g. for a graph whose edges exceed the
+         * heap; stream them with {@link #edges(int)}.
+         */
+        public GraphInput nextUnloaded() {
+            return read(false);
+        }
+
+        private GraphInput read(boolean loadEdges) {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                long start = System.nanoTime();
+                ByteBuffer head = map(position, GRAPH_HEADER_BYTES);
+                int id = head.getInt();
+                int V = head.getInt();
+                int E = head.getInt();
+                long labelBytes = Integer.toUnsignedLong(head.getInt());
+                long nextSection = sectionEnd(file, channel.size(), position, V, E, labelBytes, floatWeights);
+                long labelSection = align8(labelBytes);
+                long edgeSection = nextSection - position - GRAPH_HEADER_BYTES - labelSection;
+
+                ByteBuffer section = map(position + GRAPH_HEADER_BYTES, loadEdges ? labelSection + edgeSection : labelSection);
+                String[] labels = new String[V];
+                byte[] scratch = new byte[64];
+                for (int v = 0; v < V; v++) {
+                    int length = section.getInt();
+                    if (length < 0 || section.position() + (long) length > labelBytes)
+                        throw new IOException(file + ": label of vertex " + v + " of graph " + id
+                                + " overruns its " + labelBytes + "-byte label table");
+                    if (length > scratch.length) scratch = new byte[Math.max(length, 2 * scratch.length)];
+                    section.get(scratch, 0, length);
+                    labels[v] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                }
+                position = nextSection;
+                graphsRead++;
+                record(graphsRead, position);
+                if (!loadEdges) return GraphInput.unloaded(id, labels, V, E, System.nanoTime() - start);
+
+                // edge arrays: bulk copies out of the mapping
+                section.position((int) labelSection);
+                int[] from = new int[E];
+                int[] to = new int[E];
+                double[] weight = new double[E];
+                section.asIntBuffer().get(from);
+                section.position(section.position() + 4 * E);
+                section.asIntBuffer().get(to);
+                section.position(section.position() + 4 * E);
+                if (floatWeights) {
+                    float[] w = new float[E];
+                    section.asFloatBuffer().get(w);
+                    for (int e = 0; e < E; e++) weight[e] = w[e];
+                } else {
+                    section.asDoubleBuffer().get(weight);
+                }
+
+                long buildStart = System.nanoTime();
+                CsrGraph graph = CsrGraph.fromEdgeList(V, E, from, to, weight);
+                long end = System.nanoTime();
+                return new GraphInput(id, labels, graph, buildStart - start, end - buildStart);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read graph " + (graphsRead + 1), e);
+            }
+        }
+
+        /**
+         * Streams the edges of graph {@code index} (0-based) straight from the file,
+         * like {@link BinaryGraphFormat#edges(Path, int)}. Safe to call from any thread;
+         * the stream has its own channel and stays usable after this reader is closed.
+         */
+        public EdgeStream edges(int index) throws IOException {
+            return new EdgeSection(file, offset(index), floatWeights);
+        }
+
+        // file offset of graph 'index', walking headers only past the last section seen
+        private synchronized long offset(int index) throws IOException {
+            if (index < 0 || index >= graphCount)
+                throw new IOException(file + " has no graph " + index + " (" + graphCount + " graphs)");
+            while (known <= index) {
+                long at = offsets[known - 1];
+                ByteBuffer head = map(at, GRAPH_HEADER_BYTES);
+                head.getInt();   // id
+                int V = head.getInt(), E = head.getInt();
+                long labelBytes = Integer.toUnsignedLong(head.getInt());
+                record(known, sectionEnd(file, channel.size(), at, V, E, labelBytes, floatWeights));
+            }
+            return offsets[index];
+        }
+
+        private synchronized void record(int index, long offset) {
+            if (index != known || index >= graphCount) return;
+            if (index == offsets.length) offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            offsets[index] = offset;
+            known++;
+        }
+
+        private ByteBuffer map(long offset, long length) throws IOException {
+            if (length > Integer.MAX_VALUE) throw new IOException("Graph section exceeds 2 GB: " + length);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Streams the edges of graph {@code index} (0-based) straight from the file.
+     * Only small windows of the edge arrays are mapped at a time, so the graph
+     * does not have to fit in memory and its section may exceed 2 GB.
+     * Finding the graph walks the headers of the ones before it; when streaming
+     * many graphs of one file, use {@link Reader#edges(int)} instead.
+     */
+    public static EdgeStream edges(Path binary, int index) throws IOException {
+        try (Reader reader = open(binary)) {
+            return reader.edges(index);
+        }
+    }
+
+    /** Sequential view of one graph's edge arrays. */
+    private static final class EdgeSection implements EdgeStream {
+        private final FileChannel channel;
+        private final int V;
+        private final int E;
+        private final boolean floatWeights;
+        private final long fromOffset;       // file offsets of the three edge arrays
+        private final long toOffset;
+        private final long weightOffset;
+        private ByteBuffer fromWindow, toWindow, weightWindow;
+        private int next;                    // index of the next edge
+        private int from, to;
+        private double weight;
+
+        // the graph section starting at file offset 'section'
+        EdgeSection(Path binary, long section, boolean floatWeights) throws IOException {
+            this.floatWeights = floatWeights;
+            channel = FileChannel.open(binary, StandardOpenOption.READ);
+            try {
+                ByteBuffer head = map(section, GRAPH_HEADER_BYTES);
+                head.getInt();   // id
+                V = head.getInt();
+                E = head.getInt();
+                long labelBytes = Integer.toUnsignedLong(head.getInt());
+                sectionEnd(binary, channel.size(), section, V, E, labelBytes, floatWeights);
+                fromOffset = section + GRAPH_HEADER_BYTES + align8(labelBytes);
+                toOffset = fromOffset + 4L * E;
+                weightOffset = toOffset + 4L * E;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int V() {
+            return V;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (next >= E) return false;
+            if (next % STREAM_WINDOW_EDGES == 0) {
+                int n = Math.min(STREAM_WINDOW_EDGES, E - next);
+                fromWindow = map(fromOffset + 4L * next, 4L * n);
+                toWindow = map(toOffset + 4L * next, 4L * n);
+                weightWindow = map(weightOffset + (floatWeights ? 4L : 8L) * next, (floatWeights ? 4L : 8L) * n);
+            }
+            from = fromWindow.getInt();
+            to = toWindow.getInt();
+            weight = floatWeights ? weightWindow.getFloat() : weightWindow.getDouble();
+            next++;
+            return true;
+        }
+
+        @Override
+        public int from() {
+            return from;
+        }
+
+        @Override
+        public int to() {
+            return to;
+        }
+
+        @Override
+        public double weight() {
+            return weight;
+        }
+
+        @Override
+        public long bytesRead() {
+            return (long) next * (floatWeights ? 12 : 16);
+        }
+
+        private ByteBuffer map(long offset, long length) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // end of the graph section at 'at' as its header describes it, checked against the file size
+    private static long sectionEnd(Path file, long fileSize, long at, int V, int E, long labelBytes,
+                                   boolean floatWeights) throws IOException {
+        long end = at + GRAPH_HEADER_BYTES + align8(labelBytes) + align8((long) E * (floatWeights ? 12 : 16));
+        if (V < 0 || E < 0 || labelBytes < 4L * V || end > fileSize)
+            throw new IOException(file + ": corrupt graph header at offset " + at + " (V=" + V + ", E=" + E
+                    + ", labelBytes=" + labelBytes + ", file size " + fileSize + ")");
+        return end;
+    }
+
+    private static long align8(long n) {
+        return (n + 7) & ~7L;
+    }
+
+    /** One-time converter: {@code BinaryGraphFormat <input.json> <output.mstg> [--float]} */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BinaryGraphFormat <input.json> <output.mstg> [--float]");
+            System.exit(2);
+        }
+        Path out = Paths.get(args[1]);
+        convert(Paths.get(args[0]), out, args.length > 2 && args[2].equals("--float"));
+        System.out.println("Binary graphs saved to: " + out + " (" + Files.size(out) + " bytes)");
+    }
+}
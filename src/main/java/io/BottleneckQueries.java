@@ -0,0 +1,68 @@
+package io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of bottleneck (minimax) queries read from a text file with one query per line:
+ * <pre>
+ * # dataset  graph_id  from  to
+ * small      1         A     F
+ * </pre>
+ * Fields are separated by whitespace; blank lines and lines starting with
+ * {@code #} are skipped. Endpoints are node labels as in the dataset file.
+ */
+public final class BottleneckQueries {
+    private final Map<String, Map<Integer, List<String[]>>> pairs = new HashMap<>();   // dataset -> graph id -> pairs
+    private int size;
+
+    private BottleneckQueries() {
+    }
+
+    /** Reads a query file. */
+    public static BottleneckQueries read(Path file) throws IOException {
+        BottleneckQueries queries = new BottleneckQueries();
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            int number = 0;
+            while ((line = in.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\s+");
+                if (fields.length != 4)
+                    throw new IOException(file + ":" + number + ": expected \"dataset graph_id from to\"");
+                int graphId;
+                try {
+                    graphId = Integer.parseInt(fields[1]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + ":" + number + ": graph id \"" + fields[1] + "\" is not a number");
+                }
+                queries.pairs.computeIfAbsent(fields[0], d -> new HashMap<>())
+                        .computeIfAbsent(graphId, g -> new ArrayList<>())
+                        .add(new String[]{fields[2], fields[3]});
+                queries.size++;
+            }
+        }
+        return queries;
+    }
+
+    /** Returns the {from, to} label pairs asked about one graph, in file order (empty if none). */
+    public List<String[]> forGraph(String dataset, int graphId) {
+        Map<Integer, List<String[]>> graphs = pairs.get(dataset);
+        List<String[]> list = graphs != null ? graphs.get(graphId) : null;
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /** Returns the number of queries in the file. */
+    public int size() {
+        return size;
+    }
+}
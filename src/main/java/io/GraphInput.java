@@ -0,0 +1,154 @@
+package io;
+
+import algo.CsrGraph;
+import algo.VertexOrdering;
+
+/**
+ * One input graph as read from a dataset file: its id, the vertex labels
+ * (indexed by vertex id) and the compact graph itself.
+ * Generated graphs may have no label table; their vertices are labelled by id.
+ * A graph too large for the heap can be described by its id, labels and size
+ * alone ({@link #unloaded}); its edges are then streamed from storage.
+ *
+ * {@link #vertexOf(String)} resolves labels the way the loader resolved edge
+ * endpoints: through the loader's {@link LabelDictionary} when it passed one,
+ * mapped through the permutation of every {@link #reorder}. Re-interning the
+ * label table instead would let a repeated label land on another occurrence
+ * once the table is permuted.
+ */
+public final class GraphInput {
+    private final int id;
+    private final String[] labels;
+    private final CsrGraph graph;     // null when the edges were not loaded
+    private final int V;
+    private final int E;
+    private final long loadNanos;     // reading/parsing the graph from storage
+    private final long buildNanos;    // building the CSR arrays
+    private final long reorderNanos;  // relabelling vertices for locality, 0 if not reordered
+    private LabelDictionary nodes;    // label -> vertex id as loaded, built from the labels when null
+    private final int[] perm;         // vertex id as loaded -> current vertex id, null if not reordered
+
+    public GraphInput(int id, String[] labels, CsrGraph graph) {
+        this(id, labels, graph, 0L, 0L);
+    }
+
+    public GraphInput(int id, String[] labels, CsrGraph graph, long loadNanos, long buildNanos) {
+        this(id, labels, graph, loadNanos, buildNanos, 0L);
+    }
+
+    public GraphInput(int id, String[] labels, CsrGraph graph, long loadNanos, long buildNanos, long reorderNanos) {
+        this(id, labels, graph, graph.V(), graph.E(), null, null, loadNanos, buildNanos, reorderNanos);
+    }
+
+    /** Creates a graph whose labels resolve through the loader's dictionary {@code nodes}. */
+    public static GraphInput of(int id, LabelDictionary nodes, CsrGraph graph, long loadNanos, long buildNanos) {
+        return new GraphInput(id, nodes.labels(), graph, graph.V(), graph.E(), nodes, null, loadNanos, buildNanos, 0L);
+    }
+
+    /**
+     * Creates a graph of {@code V} vertices and {@code E} edges whose edges were not
+     * loaded: {@link #graph()} is null and only engines reading an edge stream can run on it.
+     */
+    public static GraphInput unloaded(int id, String[] labels, int V, int E, long loadNanos) {
+        return new GraphInput(id, labels, null, V, E, null, null, loadNanos, 0L, 0L);
+    }
+
+    private GraphInput(int id, String[] labels, CsrGraph graph, int V, int E, LabelDictionary nodes, int[] perm,
+                       long loadNanos, long buildNanos, long reorderNanos) {
+        this.id = id;
+        this.labels = labels;
+        this.graph = graph;
+        this.V = V;
+        this.E = E;
+        this.nodes = nodes;
+        this.perm = perm;
+        this.loadNanos = loadNanos;
+        this.buildNanos = buildNanos;
+        this.reorderNanos = reorderNanos;
+    }
+
+    /**
+     * Returns this graph with its vertices renumbered by {@code ordering}, timing the
+     * whole pass as the reorder time. The label table moves along, so output still
+     * names the original nodes.
+     */
+    public GraphInput reorder(VertexOrdering ordering) {
+        if (graph == null) throw new IllegalStateException("Graph " + id + " was not loaded");
+        long start = System.nanoTime();
+        int[] perm = ordering.permutation(graph);
+        String[] original = labels();
+        String[] moved = new String[original.length];
+        for (int v = 0; v < original.length; v++) moved[perm[v]] = original[v];
+        CsrGraph permuted = graph.permute(perm);
+        int[] composed = perm;
+        if (this.perm != null) {
+            composed = new int[perm.length];
+            for (int v = 0; v < composed.length; v++) composed[v] = perm[this.perm[v]];
+        }
+        return new GraphInput(id, moved, permuted, V, E, nodes, composed, loadNanos, buildNanos, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the vertex the node label {@code label} resolves to, or -1 if it is unknown.
+     * A repeated label resolves to the occurrence the loader chose, also after reordering.
+     */
+    public int vertexOf(String label) {
+        if (nodes == null) {
+            // no loader dictionary: intern the labels in loaded order, last occurrence wins like the loader
+            String[] table = labels();
+            LabelDictionary built = new LabelDictionary(table.length);
+            for (int v = 0; v < table.length; v++) built.add(table[perm != null ? perm[v] : v]);
+            nodes = built;
+        }
+        int v = nodes.indexOf(label);
+        return v < 0 || perm == null ? v : perm[v];
+    }
+
+    /** Returns the time spent reading this graph from storage, in nanoseconds. */
+    public long loadNanos() {
+        return loadNanos;
+    }
+
+    /** Returns the time spent building the compact graph, in nanoseconds. */
+    public long buildNanos() {
+        return buildNanos;
+    }
+
+    /** Returns the time spent reordering the vertices, in nanoseconds. */
+    public long reorderNanos() {
+        return reorderNanos;
+    }
+
+    /** Returns the graph id from the input file. */
+    public int id() {
+        return id;
+    }
+
+    /** Returns the label of vertex {@code v}. */
+    public String label(int v) {
+        return labels != null ? labels[v] : Integer.toString(v);
+    }
+
+    /** Returns the label table, indexed by vertex id (built on demand for unlabelled graphs). */
+    public String[] labels() {
+        if (labels != null) return labels;
+        String[] ids = new String[V];
+        for (int v = 0; v < ids.length; v++) ids[v] = Integer.toString(v);
+        return ids;
+    }
+
+    /** Returns the number of vertices. */
+    public int V() {
+        return V;
+    }
+
+    /** Returns the number of edges. */
+    public int E() {
+        return E;
+    }
+
+    /** Returns the compact graph, or null if the edges were not loaded (see {@link #unloaded}). */
+    public CsrGraph graph() {
+        return graph;
+    }
+}
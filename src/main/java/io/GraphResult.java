@@ -0,0 +1,71 @@
+package io;
+
+import algo.GraphStats;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of every MST algorithm on one input graph, plus the answers to any
+ * bottleneck queries asked about it.
+ */
+public final class GraphResult {
+    private final String dataset;
+    private final GraphInput input;
+    private final List<AlgorithmResult> algorithms;
+    private final List<String[]> queries;     // {from, to} labels
+    private final double[] bottlenecks;       // bottlenecks[i] answers queries.get(i)
+    private final GraphStats stats;           // null when not computed
+
+    public GraphResult(String dataset, GraphInput input, List<AlgorithmResult> algorithms) {
+        this(dataset, input, algorithms, Collections.emptyList(), new double[0]);
+    }
+
+    public GraphResult(String dataset, GraphInput input, List<AlgorithmResult> algorithms,
+                       List<String[]> queries, double[] bottlenecks) {
+        this(dataset, input, algorithms, queries, bottlenecks, null);
+    }
+
+    public GraphResult(String dataset, GraphInput input, List<AlgorithmResult> algorithms,
+                       List<String[]> queries, double[] bottlenecks, GraphStats stats) {
+        if (queries.size() != bottlenecks.length) throw new IllegalArgumentException("one answer per query");
+        this.dataset = dataset;
+        this.input = input;
+        this.algorithms = algorithms;
+        this.queries = queries;
+        this.bottlenecks = bottlenecks;
+        this.stats = stats;
+    }
+
+    public String dataset() {
+        return dataset;
+    }
+
+    /** Returns the graph the algorithms ran on (labels are used to name MST endpoints). */
+    public GraphInput input() {
+        return input;
+    }
+
+    /** Returns the per-algorithm results in output order. */
+    public List<AlgorithmResult> algorithms() {
+        return algorithms;
+    }
+
+    /** Returns the bottleneck queries asked about this graph as {from, to} labels. */
+    public List<String[]> queries() {
+        return queries;
+    }
+
+    /**
+     * Returns the answer to each query: the bottleneck weight, or NaN when an
+     * endpoint is unknown or no path with edges joins the two endpoints.
+     */
+    public double[] bottlenecks() {
+        return bottlenecks;
+    }
+
+    /** Returns the statistics of the graph, as written to the selector samples, or null if not computed. */
+    public GraphStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,10 @@
+package io;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * A stream of input graphs read one at a time from some storage format.
+ */
+public interface GraphSource extends Iterator<GraphInput>, Closeable {
+}
@@ -0,0 +1,199 @@
+package io;
+
+import algo.CsrGraph;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader for dataset files of the form
+ * <pre>
+ * { "graphs": [ { "id": 1, "nodes": ["A", ...], "edges": [ {"from": "A", "to": "B", "weight": 1.2}, ... ] }, ... ] }
+ * </pre>
+ *
+ * Graphs are pulled one at a time with {@link JsonReader}, so peak heap is
+ * bounded by the largest single graph rather than by the whole document.
+ * Node labels are interned into a {@link LabelDictionary} while reading and
+ * edges go straight into a {@link CsrGraph.Builder}.
+ *
+ * Duplicate labels follow the loader's {@link LabelDictionary.Duplicates}
+ * policy; by default they keep the legacy behaviour of {@code Main}: the last
+ * occurrence wins, earlier occurrences remain as isolated vertices.
+ */
+public final class JsonGraphLoader implements GraphSource {
+    private final JsonReader reader;
+    private final LabelDictionary.Duplicates duplicates;
+    private boolean inGraphs;     // positioned inside the "graphs" array
+    private boolean finished;     // no more graphs
+
+    public JsonGraphLoader(Reader in) {
+        this(in, LabelDictionary.Duplicates.LAST_WINS);
+    }
+
+    public JsonGraphLoader(Reader in, LabelDictionary.Duplicates duplicates) {
+        this.reader = new JsonReader(in);
+        this.duplicates = duplicates;
+    }
+
+    /** Opens a streaming loader over a dataset file. */
+    public static JsonGraphLoader open(Path file) throws IOException {
+        return new JsonGraphLoader(Files.newBufferedReader(file));
+    }
+
+    /** Opens a streaming loader over a dataset file with the given duplicate-label policy. */
+    public static JsonGraphLoader open(Path file, LabelDictionary.Duplicates duplicates) throws IOException {
+        return new JsonGraphLoader(Files.newBufferedReader(file), duplicates);
+    }
+
+    /**
+     * Reads one graph object ({@code {"id": 1, "nodes": [...], "edges": [...]}})
+     * that is not wrapped in a dataset, e.g. a request line of {@code MSTServer}.
+     */
+    public static GraphInput parseGraph(Reader in) {
+        try {
+            return new JsonGraphLoader(in).readGraph();
+        } catch (IOException e) {
+            throw new JsonParseException("Failed to read graph", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (finished) return false;
+            if (!inGraphs) seekGraphs();
+            if (!finished && !reader.hasNext()) {
+                reader.endArray();
+                finished = true;
+            }
+            return !finished;
+        } catch (IOException e) {
+            throw new JsonParseException("Failed to read graphs", e);
+        }
+    }
+
+    @Override
+    public GraphInput next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return readGraph();
+        } catch (IOException e) {
+            throw new JsonParseException("Failed to read graph", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // advance to the first element of the top-level "graphs" array
+    private void seekGraphs() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                inGraphs = true;
+                return;
+            }
+            reader.skipValue();
+        }
+        finished = true;
+    }
+
+    private GraphInput readGraph() throws IOException {
+        long start = System.nanoTime();
+        int id = 0;
+        LabelDictionary nodes = null;
+        CsrGraph.Builder builder = null;
+        List<String[]> pending = null;           // edges seen before "nodes"
+        List<Double> pendingWeights = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "nodes":
+                    nodes = new LabelDictionary(64, duplicates);
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String label = reader.nextString();
+                        try {
+                            nodes.add(label);
+                        } catch (IllegalArgumentException e) {
+                            throw new JsonParseException("Graph " + id + ": " + e.getMessage());
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    if (nodes != null) builder = new CsrGraph.Builder(nodes.size());
+                    else {
+                        pending = new ArrayList<>();
+                        pendingWeights = new ArrayList<>();
+                    }
+                    while (reader.hasNext()) {
+                        String from = null, to = null;
+                        double weight = 0.0;
+                        boolean weighted = false;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "from": from = reader.nextString(); break;
+                                case "to": to = reader.nextString(); break;
+                                case "weight": weight = reader.nextDouble(); weighted = true; break;
+                                default: reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        if (!weighted)
+                            throw new JsonParseException("Graph " + id + ": edge \"" + from + "\" - \"" + to
+                                    + "\" has no \"weight\"");
+                        if (builder != null) {
+                            builder.addEdge(indexOf(nodes, from, id), indexOf(nodes, to, id), weight);
+                        } else {
+                            pending.add(new String[]{from, to});
+                            pendingWeights.add(weight);
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (nodes == null) throw new JsonParseException("Graph " + id + " has no \"nodes\" array");
+        if (builder == null) {
+            builder = new CsrGraph.Builder(nodes.size());
+            if (pending != null) {
+                for (int i = 0; i < pending.size(); i++) {
+                    String[] e = pending.get(i);
+                    builder.addEdge(indexOf(nodes, e[0], id), indexOf(nodes, e[1], id), pendingWeights.get(i));
+                }
+            }
+        }
+        long buildStart = System.nanoTime();
+        CsrGraph graph = builder.build();
+        long end = System.nanoTime();
+        return GraphInput.of(id, nodes, graph, buildStart - start, end - buildStart);
+    }
+
+    private static int indexOf(LabelDictionary nodes, String label, int graphId) {
+        int v = label == null ? -1 : nodes.indexOf(label);
+        if (v < 0)
+            throw new JsonParseException("Graph " + graphId + ": edge endpoint \"" + label + "\" is not in nodes");
+        return v;
+    }
+}
@@ -0,0 +1,137 @@
+package io;
+
+import java.util.Arrays;
+
+/**
+ * Label-to-vertex dictionary for one graph.
+ *
+ * Vertex ids are handed out in insertion order and the labels are kept in an
+ * array indexed by vertex id, so reverse lookup is a plain array read.
+ * Forward lookup is an open-addressed table (linear probing, load factor at
+ * most 1/2) of {@code int} slots next to the cached label hashes, so resolving
+ * an edge endpoint neither boxes nor allocates, and a lookup reuses the
+ * hash the label String already caches.
+ *
+ * A label that is added again is handled according to the {@link Duplicates}
+ * policy; the repeated entry still gets its own vertex id either way.
+ */
+public final class LabelDictionary {
+
+    /** What a repeated label resolves to. */
+    public enum Duplicates {
+        /** the last occurrence wins; earlier ones become unreachable isolated vertices (legacy behaviour) */
+        LAST_WINS,
+        /** the first occurrence wins; later ones become unreachable isolated vertices */
+        FIRST_WINS,
+        /** a repeated label is an error */
+        REJECT
+    }
+
+    private final Duplicates policy;
+    private String[] labels;     // vertex id -> label
+    private int size;
+    private int[] slots;         // vertex id + 1, 0 = empty
+    private int[] hashes;        // hash of the label in the same slot
+    private int mask;
+    private int keys;            // distinct labels
+    private int duplicates;      // repeated labels seen
+
+    /** Creates a dictionary with the legacy last-wins policy. */
+    public LabelDictionary(int expected) {
+        this(expected, Duplicates.LAST_WINS);
+    }
+
+    public LabelDictionary(int expected, Duplicates policy) {
+        if (expected < 0) throw new IllegalArgumentException("expected must be non-negative");
+        this.policy = policy;
+        labels = new String[Math.max(expected, 4)];
+        int capacity = Integer.highestOneBit(Math.max(2 * labels.length - 1, 8)) << 1;
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a label as the next vertex and returns that vertex id.
+     * @throws IllegalArgumentException if the label is repeated under {@link Duplicates#REJECT}
+     */
+    public int add(String label) {
+        int h = hash(label);
+        int i = h & mask;
+        for (int s; (s = slots[i]) != 0; i = (i + 1) & mask) {
+            if (hashes[i] == h && label.equals(labels[s - 1])) {
+                if (policy == Duplicates.REJECT)
+                    throw new IllegalArgumentException("Duplicate label \"" + label + "\"");
+                duplicates++;
+                int v = append(label);
+                if (policy == Duplicates.LAST_WINS) slots[i] = v + 1;
+                return v;
+            }
+        }
+        int v = append(label);
+        slots[i] = v + 1;
+        hashes[i] = h;
+        if (++keys * 2 > slots.length) rehash(slots.length << 1);
+        return v;
+    }
+
+    /** Returns the vertex a label resolves to, or -1 if it is unknown. */
+    public int indexOf(String label) {
+        int h = hash(label);
+        for (int i = h & mask, s; (s = slots[i]) != 0; i = (i + 1) & mask) {
+            if (hashes[i] == h && label.equals(labels[s - 1])) return s - 1;
+        }
+        return -1;
+    }
+
+    /** Returns the label of vertex {@code v}. */
+    public String label(int v) {
+        if (v < 0 || v >= size) throw new IndexOutOfBoundsException("vertex " + v + " is not between 0 and " + (size - 1));
+        return labels[v];
+    }
+
+    /** Returns the labels indexed by vertex id. */
+    public String[] labels() {
+        return labels.length == size ? labels : Arrays.copyOf(labels, size);
+    }
+
+    /** Returns the number of vertices, duplicates included. */
+    public int size() {
+        return size;
+    }
+
+    /** Returns how many labels were repeated. */
+    public int duplicates() {
+        return duplicates;
+    }
+
+    public Duplicates policy() {
+        return policy;
+    }
+
+    private int append(String label) {
+        if (size == labels.length) labels = Arrays.copyOf(labels, 2 * size);
+        labels[size] = label;
+        return size++;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldSlots = slots, oldHashes = hashes;
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldSlots.length; j++) {
+            if (oldSlots[j] == 0) continue;
+            int i = oldHashes[j] & mask;
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = oldSlots[j];
+            hashes[i] = oldHashes[j];
+        }
+    }
+
+    // String.hashCode (cached in the String), spread so that linear probing on the low bits stays short
+    private static int hash(String s) {
+        int h = s.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
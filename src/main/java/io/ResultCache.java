@@ -0,0 +1,262 @@
+package io;
+
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import edu.princeton.cs.algs4.Edge;
+import edu.princeton.cs.algs4.Queue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent on-disk cache of algorithm results.
+ *
+ * An entry is keyed by the SHA-256 of the graph content (V, then every edge
+ * as from, to and weight bits in edge-id order) together with the algorithm
+ * name and its parameters, and holds the MST edges, total cost, operation
+ * count, original execution time, verification outcome and metrics.
+ * Labels are not part of the key: results refer to vertex ids, and the
+ * caller maps them to the labels of the graph at hand.
+ *
+ * Each entry is one {@code <key>.mstc} file in the cache directory, written
+ * to a temporary file and moved into place, so concurrent runs never see a
+ * half-written entry. The total size is bounded: least recently used entries
+ * are deleted first. Recency survives restarts through the file modification
+ * time, which is bumped on every hit.
+ *
+ * Thread-safe: graphs processed in parallel share one cache.
+ */
+public final class ResultCache {
+    /** Default size bound, 256 MiB. */
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private static final int MAGIC = 0x4D535443;   // "MSTC"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".mstc";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);   // key -> bytes, LRU first
+    private long totalBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Opens (or creates) a cache in {@code directory} bounded to {@code maxBytes}.
+     * Existing entries are indexed oldest first by modification time.
+     */
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        Map<Path, FileTime> modified = new HashMap<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : dir) modified.put(file, Files.getLastModifiedTime(file));
+        }
+        List<Path> files = new ArrayList<>(modified.keySet());
+        files.sort(Comparator.comparing(modified::get));
+        for (Path file : files) {
+            long size = Files.size(file);
+            String name = file.getFileName().toString();
+            entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    /** Returns the content digest of a graph, the per-graph part of every key. */
+    public static byte[] digest(CsrGraph G) {
+        MessageDigest sha = sha256();
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(G.V()).putInt(G.E());
+        for (int e = 0; e < G.E(); e++) {
+            if (buf.remaining() < 16) {
+                buf.flip();
+                sha.update(buf);
+                buf.clear();
+            }
+            buf.putInt(G.from(e)).putInt(G.to(e)).putLong(Double.doubleToLongBits(G.weight(e)));
+        }
+        buf.flip();
+        sha.update(buf);
+        return sha.digest();
+    }
+
+    /** Returns the cache key of an algorithm run with the given parameters on a graph with this digest. */
+    public static String key(byte[] graphDigest, String algorithm, String params) {
+        MessageDigest sha = sha256();
+        sha.update(graphDigest);
+        sha.update((algorithm + '\0' + params).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : sha.digest()) hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or null on a miss.
+     * Entries that cannot be read are dropped and count as misses.
+     */
+    public AlgorithmResult get(String key) throws IOException {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses.increment();
+                return null;
+            }
+        }
+        Path file = file(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            AlgorithmResult result = read(in);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.increment();
+            return result;
+        } catch (NoSuchFileException e) {
+            remove(key);   // deleted behind our back
+        } catch (IOException e) {
+            remove(key);
+            Files.deleteIfExists(file);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Stores a result under {@code key}, evicting least recently used entries beyond the size bound. */
+    public void put(String key, AlgorithmResult result) throws IOException {
+        Path tmp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                write(out, result);
+            }
+            long size = Files.size(tmp);
+            Files.move(tmp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long old = entries.put(key, size);
+                totalBytes += size - (old != null ? old : 0L);
+            }
+            evict();
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Returns the number of lookups that found an entry. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** Returns the number of lookups that found nothing. */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Returns hits / lookups, 0 before the first lookup. */
+    public double hitRate() {
+        long h = hits(), n = h + misses();
+        return n == 0 ? 0.0 : (double) h / n;
+    }
+
+    /** Returns the number of entries. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Returns the total size of all entries in bytes. */
+    public synchronized long bytes() {
+        return totalBytes;
+    }
+
+    // drop least recently used entries until the cache fits
+    private synchronized void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            Files.deleteIfExists(file(eldest.getKey()));
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) totalBytes -= size;
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static void write(DataOutputStream out, AlgorithmResult result) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(result.name());
+        out.writeDouble(result.totalCost());
+        out.writeLong(result.operationsCount());
+        out.writeDouble(result.executionTimeMs());
+        out.writeByte(result.verified() == null ? -1 : result.verified() ? 1 : 0);
+        long[] metrics = result.metrics() != null ? result.metrics().snapshot() : null;
+        out.writeInt(metrics != null ? metrics.length : -1);
+        if (metrics != null) for (long m : metrics) out.writeLong(m);
+
+        int n = 0;
+        for (Edge ignored : result.mstEdges()) n++;
+        out.writeInt(n);
+        for (Edge e : result.mstEdges()) {
+            int v = e.either();
+            out.writeInt(v);
+            out.writeInt(e.other(v));
+            out.writeDouble(e.weight());
+        }
+    }
+
+    private static AlgorithmResult read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a cache entry of this version");
+        String name = in.readUTF();
+        double totalCost = in.readDouble();
+        long operations = in.readLong();
+        double timeMs = in.readDouble();
+        byte verified = in.readByte();
+        int metricCount = in.readInt();
+        CountingMetrics metrics = null;
+        if (metricCount >= 0) {
+            long[] values = new long[metricCount];
+            for (int i = 0; i < metricCount; i++) values[i] = in.readLong();
+            metrics = CountingMetrics.fromSnapshot(values);
+        }
+        int n = in.readInt();
+        Queue<Edge> edges = new Queue<Edge>();
+        for (int i = 0; i < n; i++) edges.enqueue(new Edge(in.readInt(), in.readInt(), in.readDouble()));
+        return new AlgorithmResult(name, edges, totalCost, operations, timeMs,
+                verified < 0 ? null : verified == 1, metrics, true);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io;
+
+import algo.CountingMetrics;
+import algo.GraphStats;
+import algo.MSTMetrics.Phase;
+import com.google.gson.stream.JsonWriter;
+import edu.princeton.cs.algs4.Edge;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Streams results to disk as graphs finish.
+ *
+ * - one {@code <dataset>_output.json} per dataset, written with {@link JsonWriter}
+ *   in the layout {@code { "results": [ {graph}, ... ] }}
+ * - one summary CSV across all datasets, one row per graph and algorithm
+ * - optionally, calibration samples for {@code algo.MSTSelector} appended to a
+ *   CSV that outlives single runs, one row per freshly computed result
+ *
+ * Numbers are always formatted with {@link Locale#ROOT}, so the CSV reads the
+ * same whatever the default locale's decimal separator.
+ *
+ * Nothing is kept after {@link #write(GraphResult)} returns, so memory does
+ * not grow with the number of graphs or datasets.
+ */
+public final class ResultWriter implements Closeable {
+    public static final String CSV_HEADER =
+            "Dataset,Graph_ID,Vertices,Edges,Algorithm,Total_Cost,Operations_Count,Execution_Time_ms,"
+            + "Heap_Inserts,Decrease_Keys,Del_Mins,Sort_Comparisons,Find_Calls,Find_Path_Length,Unions,"
+            + "Rejected_Edges,Load_ms,Build_ms,Sort_ms,Greedy_ms,Verify_ms,Reorder_ms,Bytes_Read,Bytes_Written,Cache_Hit";
+    public static final String SAMPLES_HEADER =
+            "Vertices,Edges,Components,Duplicate_Ratio,Algorithm,Operations_Count,Execution_Time_ms";
+
+    private final Path directory;
+    private final boolean mstEdges;   // write "mst_edges" arrays to JSON
+    private final Writer csv;
+    private final Writer samples;     // null: no calibration samples
+    private JsonWriter json;          // current dataset file, null between datasets
+
+    /**
+     * Creates {@code directory} if needed and starts the summary CSV at {@code csvFile}.
+     */
+    public ResultWriter(Path directory, Path csvFile) throws IOException {
+        this(directory, csvFile, true);
+    }
+
+    /**
+     * Same, optionally leaving MST edge lists out of the JSON (for very large generated graphs).
+     */
+    public ResultWriter(Path directory, Path csvFile, boolean mstEdges) throws IOException {
+        this(directory, csvFile, mstEdges, null);
+    }
+
+    /**
+     * Same, also appending selector calibration samples to {@code samplesFile}
+     * (created with a header when missing; null for none). A file written under
+     * an older header is first rewritten under {@link #SAMPLES_HEADER}, its
+     * missing columns left empty.
+     */
+    public ResultWriter(Path directory, Path csvFile, boolean mstEdges, Path samplesFile) throws IOException {
+        this.directory = directory;
+        this.mstEdges = mstEdges;
+        Files.createDirectories(directory);
+        csv = Files.newBufferedWriter(csvFile);
+        csv.write(CSV_HEADER + "\n");
+        if (samplesFile != null) {
+            upgradeSamples(samplesFile);
+            boolean fresh = !Files.exists(samplesFile) || Files.size(samplesFile) == 0;
+            samples = Files.newBufferedWriter(samplesFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (fresh) samples.write(SAMPLES_HEADER + "\n");
+        } else {
+            samples = null;
+        }
+    }
+
+    // rewrites a samples file whose header is not SAMPLES_HEADER, keeping every row's known columns
+    private static void upgradeSamples(Path samplesFile) throws IOException {
+        if (!Files.exists(samplesFile) || Files.size(samplesFile) == 0) return;
+        String header;
+        try (BufferedReader in = Files.newBufferedReader(samplesFile)) {
+            header = in.readLine();
+        }
+        if (SAMPLES_HEADER.equals(header)) return;
+
+        String[] columns = SAMPLES_HEADER.split(",");
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        Path upgraded = samplesFile.resolveSibling(samplesFile.getFileName() + ".tmp");
+        try (CSVParser parser = CSVParser.parse(Files.newBufferedReader(samplesFile), format);
+             CSVPrinter out = new CSVPrinter(Files.newBufferedWriter(upgraded),
+                     CSVFormat.DEFAULT.builder().setHeader(columns).setRecordSeparator("\n").build())) {
+            for (CSVRecord record : parser) {
+                if (!record.isConsistent()) continue;
+                for (String column : columns) out.print(record.isMapped(column) ? record.get(column) : "");
+                out.println();
+            }
+        }
+        Files.move(upgraded, samplesFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Returns the JSON file that results of {@code dataset} are written to. */
+    public Path jsonFile(String dataset) {
+        return directory.resolve(dataset + "_output.json");
+    }
+
+    /** Opens {@code <dataset>_output.json}; closes the previous dataset first. */
+    public void beginDataset(String dataset) throws IOException {
+        if (json != null) endDataset();
+        json = new JsonWriter(Files.newBufferedWriter(jsonFile(dataset)));
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("results").beginArray();
+    }
+
+    /** Finishes the current dataset file. */
+    public void endDataset() throws IOException {
+        if (json == null) return;
+        json.endArray();
+        json.endObject();
+        json.close();
+        json = null;
+    }
+
+    /** Appends one graph to the current dataset file and its rows to the CSV. */
+    public void write(GraphResult result) throws IOException {
+        if (json == null) throw new IllegalStateException("beginDataset() was not called");
+        json.beginObject();
+        writeFields(json, result, mstEdges);
+        json.endObject();
+        for (AlgorithmResult algo : result.algorithms()) writeCsvRow(result.dataset(), result.input(), algo);
+        if (samples != null) writeSamples(result);
+        json.flush();
+        csv.flush();
+    }
+
+    /**
+     * Writes the members of one per-graph result object (dataset, graph id, input
+     * stats, one object per algorithm, bottleneck answers) into an open JSON object.
+     */
+    public static void writeFields(JsonWriter json, GraphResult result, boolean mstEdges) throws IOException {
+        GraphInput input = result.input();
+        json.name("dataset").value(result.dataset());
+        json.name("graph_id").value(input.id());
+        json.name("input_stats").beginObject();
+        json.name("vertices").value(input.V());
+        json.name("edges").value(input.E());
+        json.endObject();
+
+        for (AlgorithmResult algo : result.algorithms()) {
+            json.name(algo.name()).beginObject();
+            if (mstEdges) {
+                json.name("mst_edges").beginArray();
+                for (Edge e : algo.mstEdges()) {
+                    int v = e.either(), w = e.other(v);
+                    json.beginObject();
+                    json.name("from").value(input.label(v));
+                    json.name("to").value(input.label(w));
+                    json.name("weight").value(e.weight());
+                    json.endObject();
+                }
+                json.endArray();
+            }
+            json.name("total_cost").value(algo.totalCost());
+            json.name("operations_count").value(algo.operationsCount());
+            json.name("execution_time_ms").value(algo.executionTimeMs());
+            if (algo.verified() != null) json.name("verified").value(algo.verified());
+            if (algo.cached()) json.name("cached").value(true);
+            if (algo.metrics() != null) writeMetrics(json, algo.metrics());
+            json.endObject();
+        }
+
+        if (!result.queries().isEmpty()) {
+            json.name("bottleneck_queries").beginArray();
+            for (int i = 0; i < result.queries().size(); i++) {
+                String[] q = result.queries().get(i);
+                double b = result.bottlenecks()[i];
+                json.beginObject();
+                json.name("from").value(q[0]);
+                json.name("to").value(q[1]);
+                json.name("bottleneck");
+                if (Double.isNaN(b)) json.nullValue();
+                else json.value(b);
+                json.endObject();
+            }
+            json.endArray();
+        }
+    }
+
+    private static void writeMetrics(JsonWriter json, CountingMetrics m) throws IOException {
+        json.name("metrics").beginObject();
+        json.name("heap_inserts").value(m.heapInserts());
+        json.name("decrease_keys").value(m.decreaseKeys());
+        json.name("del_mins").value(m.delMins());
+        json.name("sort_comparisons").value(m.sortComparisons());
+        json.name("find_calls").value(m.finds());
+        json.name("find_path_length").value(m.findPathLength());
+        json.name("unions").value(m.unions());
+        json.name("rejected_edges").value(m.rejectedEdges());
+        json.name("bytes_read").value(m.bytesRead());
+        json.name("bytes_written").value(m.bytesWritten());
+        json.name("phase_ms").beginObject();
+        for (Phase phase : Phase.values())
+            json.name(phase.name().toLowerCase(Locale.ROOT)).value(m.phaseMillis(phase));
+        json.endObject();
+        json.endObject();
+    }
+
+    private void writeCsvRow(String dataset, GraphInput input, AlgorithmResult algo) throws IOException {
+        csv.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%s,%.6f,%d,%.3f",
+                dataset, input.id(), input.V(), input.E(), algo.name(),
+                algo.totalCost(), algo.operationsCount(), algo.executionTimeMs()));
+
+        // detailed metrics; zeros for algorithms without a collector
+        CountingMetrics m = algo.metrics() != null ? algo.metrics() : new CountingMetrics();
+        long[] counters = {m.heapInserts(), m.decreaseKeys(), m.delMins(), m.sortComparisons(),
+                m.finds(), m.findPathLength(), m.unions(), m.rejectedEdges()};
+        for (long c : counters) csv.write("," + c);
+        for (Phase phase : Phase.values()) csv.write(String.format(Locale.ROOT, ",%.3f", m.phaseMillis(phase)));
+        csv.write("," + m.bytesRead() + "," + m.bytesWritten());
+        csv.write(algo.cached() ? ",1" : ",0");
+        csv.write("\n");
+    }
+
+    // one calibration sample per freshly computed result, with the statistics the graph job computed;
+    // cache hits would repeat old samples, and results without statistics have nothing to model
+    private void writeSamples(GraphResult result) throws IOException {
+        GraphStats stats = result.stats();
+        if (stats == null) return;
+        for (AlgorithmResult algo : result.algorithms()) {
+            if (algo.cached()) continue;
+            samples.write(String.format(Locale.ROOT, "%d,%d,%d,%.4f,%s,%d,%.3f\n", stats.V(), stats.E(),
+                    stats.components(), stats.duplicateRatio(), algo.name(), algo.operationsCount(),
+                    algo.executionTimeMs()));
+        }
+        samples.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            endDataset();
+        } finally {
+            try {
+                csv.close();
+            } finally {
+                if (samples != null) samples.close();
+            }
+        }
+    }
+}
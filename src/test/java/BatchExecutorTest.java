@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+public class BatchExecutorTest {
+
+    @Test
+    @DisplayName("Results are delivered in submission order regardless of completion order")
+    void testDeterministicOrder() {
+        List<Callable<Integer>> jobs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int id = i;
+            jobs.add(() -> {
+                Thread.sleep(20 - id); // later jobs finish first
+                return id;
+            });
+        }
+
+        List<Integer> results = new ArrayList<>();
+        try (BatchExecutor batch = new BatchExecutor(4)) {
+            batch.run(jobs.iterator(), results::add);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i), "Result " + i + " is out of order.");
+        }
+    }
+
+    @Test
+    @DisplayName("Timed sections of concurrent jobs never overlap")
+    void testTimedSectionsAreExclusive() {
+        AtomicInteger running = new AtomicInteger(), maxRunning = new AtomicInteger(), outside = new AtomicInteger();
+        List<Callable<Integer>> jobs = new ArrayList<>();
+        try (BatchExecutor batch = new BatchExecutor(4)) {
+            for (int i = 0; i < 16; i++) {
+                final int id = i;
+                jobs.add(() -> {
+                    outside.incrementAndGet();   // untimed work overlaps freely
+                    Lock lock = batch.timedSection();
+                    lock.lock();
+                    try {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.sleep(2);
+                        running.decrementAndGet();
+                    } finally {
+                        lock.unlock();
+                    }
+                    return id;
+                });
+            }
+            List<Integer> results = new ArrayList<>();
+            batch.run(jobs.iterator(), results::add);
+            assertEquals(16, results.size());
+        }
+        assertEquals(1, maxRunning.get());
+        assertEquals(16, outside.get());
+    }
+}
@@ -0,0 +1,174 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import algo.CsrGraph;
+import algo.EdgeStream;
+import algo.ExternalKruskalMST;
+import algo.KruskalMST;
+import io.BinaryGraphFormat;
+import io.AlgorithmResult;
+import io.GraphInput;
+import io.GraphResult;
+import io.JsonGraphLoader;
+
+public class BinaryGraphFormatTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("A label table larger than the file is rejected before anything is mapped")
+    void testCorruptLabelBytes() throws Exception {
+        Path bin = tmp.resolve("corrupt.mstg");
+        BinaryGraphFormat.convert(Paths.get("data", "small.json"), bin, false);
+        try (java.nio.channels.FileChannel out = java.nio.channels.FileChannel.open(bin,
+                java.nio.file.StandardOpenOption.WRITE)) {
+            // labelBytes of the first graph: above 2^31, so it only fits unsigned
+            java.nio.ByteBuffer bytes = java.nio.ByteBuffer.allocate(4).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                    .putInt(0xFFFFFFF0);
+            out.write(bytes.flip(), 16 + 12);
+        }
+        try (BinaryGraphFormat.Reader reader = BinaryGraphFormat.open(bin)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, reader::next);
+            assertInstanceOf(java.io.IOException.class, e.getCause());
+            assertTrue(e.getCause().getMessage().contains("labelBytes=4294967280"));
+        }
+        assertThrows(java.io.IOException.class, () -> BinaryGraphFormat.edges(bin, 1));
+
+        // a label whose length runs past its table
+        BinaryGraphFormat.convert(Paths.get("data", "small.json"), bin, false);
+        try (java.nio.channels.FileChannel out = java.nio.channels.FileChannel.open(bin,
+                java.nio.file.StandardOpenOption.WRITE)) {
+            java.nio.ByteBuffer bytes = java.nio.ByteBuffer.allocate(4).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                    .putInt(1 << 20);
+            out.write(bytes.flip(), 16 + 16);
+        }
+        try (BinaryGraphFormat.Reader reader = BinaryGraphFormat.open(bin)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, reader::next);
+            assertTrue(e.getCause().getMessage().contains("overruns"));
+        }
+    }
+
+    @Test
+    @DisplayName("Binary conversion round-trips every graph of a dataset")
+    void testRoundTrip() throws Exception {
+        Path json = Paths.get("data", "small.json");
+        Path bin = tmp.resolve("small.mstg");
+        BinaryGraphFormat.convert(json, bin, false);
+        byte[] magic = java.util.Arrays.copyOf(java.nio.file.Files.readAllBytes(bin), 4);
+        assertEquals("MSTG", new String(magic, java.nio.charset.StandardCharsets.US_ASCII));
+
+        try (JsonGraphLoader expected = JsonGraphLoader.open(json);
+             BinaryGraphFormat.Reader actual = BinaryGraphFormat.open(bin)) {
+            int graphs = 0;
+            while (expected.hasNext()) {
+                assertTrue(actual.hasNext());
+                GraphInput a = expected.next(), b = actual.next();
+                graphs++;
+                assertEquals(a.id(), b.id());
+                assertArrayEquals(a.labels(), b.labels());
+                assertEquals(a.graph().V(), b.graph().V());
+                assertEquals(a.graph().E(), b.graph().E());
+                for (int e = 0; e < a.graph().E(); e++) {
+                    assertEquals(a.graph().from(e), b.graph().from(e));
+                    assertEquals(a.graph().to(e), b.graph().to(e));
+                    assertEquals(a.graph().weight(e), b.graph().weight(e), 0.0);
+                }
+            }
+            assertFalse(actual.hasNext());
+            assertEquals(graphs, actual.graphCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Float weights keep single precision")
+    void testFloatWeights() throws Exception {
+        Path json = Paths.get("data", "small.json");
+        Path bin = tmp.resolve("small-float.mstg");
+        BinaryGraphFormat.convert(json, bin, true);
+
+        try (JsonGraphLoader expected = JsonGraphLoader.open(json);
+             BinaryGraphFormat.Reader actual = BinaryGraphFormat.open(bin)) {
+            GraphInput a = expected.next(), b = actual.next();
+            for (int e = 0; e < a.graph().E(); e++) {
+                assertEquals((float) a.graph().weight(e), b.graph().weight(e), 0.0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("External Kruskal over a streamed edge section matches in-memory Kruskal")
+    void testExternalKruskalFromFile() throws Exception {
+        Path json = Paths.get("data", "large.json");
+        Path bin = tmp.resolve("large.mstg");
+        BinaryGraphFormat.convert(json, bin, false);
+
+        try (JsonGraphLoader loader = JsonGraphLoader.open(json)) {
+            for (int index = 0; loader.hasNext(); index++) {
+                CsrGraph G = loader.next().graph();
+                KruskalMST expected = new KruskalMST(G);
+                try (EdgeStream edges = BinaryGraphFormat.edges(bin, index)) {
+                    ExternalKruskalMST actual = new ExternalKruskalMST(edges, tmp, 64, null);
+                    assertEquals(expected.edges().toString(), actual.edges().toString());
+                    assertEquals(16L * G.E(), edges.bytesRead());
+                    assertEquals(24L * G.E(), actual.bytesWritten());
+                    assertEquals((G.E() + 63) / 64, actual.runs());
+                }
+            }
+        }
+        try (java.util.stream.Stream<Path> files = java.nio.file.Files.list(tmp)) {
+            assertEquals(1, files.count(), "Run files should be deleted.");
+        }
+    }
+
+    @Test
+    @DisplayName("External-only runs stream each graph's edges without loading them")
+    void testExternalOnly() throws Exception {
+        Path json = Paths.get("data", "medium.json");
+        Path bin = tmp.resolve("medium.mstg");
+        BinaryGraphFormat.convert(json, bin, false);
+        Path runs = java.nio.file.Files.createDirectory(tmp.resolve("runs"));
+
+        try (JsonGraphLoader loader = JsonGraphLoader.open(json);
+             BinaryGraphFormat.Reader reader = BinaryGraphFormat.open(bin)) {
+            ProcessOptions options = ProcessOptions.NONE.withExternalDir(runs);
+            for (int index = 0; loader.hasNext(); index++) {
+                GraphInput expected = loader.next(), header = reader.nextUnloaded();
+                assertNull(header.graph());
+                assertEquals(expected.id(), header.id());
+                assertArrayEquals(expected.labels(), header.labels());
+                assertEquals(expected.graph().V(), header.V());
+                assertEquals(expected.graph().E(), header.E());
+
+                int graph = index;
+                GraphResult result = Main.processGraph("medium", header, true,
+                        options.withExternalEdges(() -> reader.edges(graph)));
+                assertEquals(1, result.algorithms().size());
+                AlgorithmResult external = result.algorithms().get(0);
+                assertEquals("kruskal_external", external.name());
+                assertEquals(new KruskalMST(expected.graph()).weight(), external.totalCost(), 1e-9);
+                assertNull(external.verified(), "unloaded graphs cannot be verified");
+            }
+
+            // offsets are remembered, and a fresh reader finds a later graph by its headers alone
+            int last = reader.graphCount() - 1;
+            try (EdgeStream first = reader.edges(0);
+                 BinaryGraphFormat.Reader fresh = BinaryGraphFormat.open(bin);
+                 EdgeStream walked = fresh.edges(last);
+                 EdgeStream known = reader.edges(last)) {
+                assertTrue(first.advance());
+                while (walked.advance()) {
+                    assertTrue(known.advance());
+                    assertEquals(known.from(), walked.from());
+                    assertEquals(known.weight(), walked.weight(), 0.0);
+                }
+                assertFalse(known.advance());
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.princeton.cs.algs4.Edge;
+
+import algo.BottleneckIndex;
+import algo.CsrGraph;
+import algo.KruskalMST;
+import algo.VertexOrdering;
+import io.BottleneckQueries;
+import io.GraphInput;
+import io.GraphResult;
+import io.JsonGraphLoader;
+
+public class BottleneckIndexTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("Bottleneck queries match the heaviest edge on the forest path")
+    void testMatchesForestPaths() {
+        // a sparse random graph with several components and repeated weights
+        Random random = new Random(29);
+        int V = 300;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < 500; i++) builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(40));
+        CsrGraph G = builder.build();
+        KruskalMST mst = new KruskalMST(G);
+        BottleneckIndex index = new BottleneckIndex(V, mst.edges());
+
+        int[] from = new int[2000], to = new int[2000];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = random.nextInt(V);
+            to[i] = random.nextInt(V);
+        }
+        double[] answers = index.query(from, to);
+        for (int i = 0; i < from.length; i++) {
+            double expected = from[i] == to[i] ? Double.NEGATIVE_INFINITY : pathMax(V, mst.edges(), from[i], to[i]);
+            assertEquals(expected, answers[i], 0.0, "query " + from[i] + "-" + to[i]);
+            assertEquals(answers[i], index.query(to[i], from[i]), 0.0);
+        }
+        int treeEdges = 0;
+        for (Edge ignored : mst.edges()) treeEdges++;
+        assertEquals(treeEdges, index.getOperationCount(), "one merge per tree edge");
+    }
+
+    @Test
+    @DisplayName("Index rejects edges that are not a forest")
+    void testRejectsCycle() {
+        List<Edge> triangle = Arrays.asList(new Edge(0, 1, 1.0), new Edge(1, 2, 2.0), new Edge(2, 0, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> new BottleneckIndex(3, triangle));
+    }
+
+    @Test
+    @DisplayName("Query files group label pairs by dataset and graph")
+    void testQueryFile() throws Exception {
+        Path file = tmp.resolve("queries.txt");
+        Files.writeString(file, "# dataset graph from to\nsmall 1 A F\n\nsmall 1 B C\nlarge 3 X Y\n");
+        BottleneckQueries queries = BottleneckQueries.read(file);
+        assertEquals(3, queries.size());
+        assertEquals(2, queries.forGraph("small", 1).size());
+        assertArrayEquals(new String[]{"B", "C"}, queries.forGraph("small", 1).get(1));
+        assertTrue(queries.forGraph("small", 2).isEmpty());
+        assertTrue(queries.forGraph("medium", 1).isEmpty());
+
+        Files.writeString(file, "small one A B\n");
+        assertThrows(java.io.IOException.class, () -> BottleneckQueries.read(file));
+    }
+
+    @Test
+    @DisplayName("Repeated labels resolve to the loader's vertex after reordering")
+    void testDuplicateLabelsUnderReorder() throws Exception {
+        // "T" appears twice: the loader resolves it to vertex 3, vertex 0 stays isolated
+        String json = "{\"id\": 1, \"nodes\": [\"T\", \"A\", \"B\", \"T\", \"C\"], \"edges\": ["
+                + "{\"from\": \"T\", \"to\": \"A\", \"weight\": 4},"
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1},"
+                + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2},"
+                + "{\"from\": \"C\", \"to\": \"T\", \"weight\": 7}]}";
+        Path file = tmp.resolve("queries.txt");
+        Files.writeString(file, "d 1 T C\nd 1 A C\nd 1 T X\n");
+        BottleneckQueries queries = BottleneckQueries.read(file);
+        GraphInput loaded = JsonGraphLoader.parseGraph(new StringReader(json));
+        GraphInput unlabelled = new GraphInput(1, loaded.labels(), loaded.graph());   // e.g. a binary file
+
+        for (VertexOrdering ordering : VertexOrdering.values()) {
+            for (GraphInput input : new GraphInput[]{loaded.reorder(ordering), unlabelled.reorder(ordering)}) {
+                int t = input.vertexOf("T");
+                assertEquals("T", input.label(t));
+                assertTrue(input.graph().degree(t) > 0, ordering + ": T must be the connected occurrence");
+
+                GraphResult result = Main.processGraph("d", input, false, ProcessOptions.NONE.withQueries(queries));
+                double[] answers = result.bottlenecks();
+                assertEquals(4.0, answers[0], 1e-12, ordering.toString());
+                assertEquals(2.0, answers[1], 1e-12, ordering.toString());
+                assertTrue(Double.isNaN(answers[2]), "unknown labels have no answer");
+            }
+        }
+    }
+
+    // heaviest edge on the forest path s..t by BFS, +Infinity if there is none
+    private static double pathMax(int V, Iterable<Edge> forest, int s, int t) {
+        double[] max = new double[V];
+        boolean[] seen = new boolean[V];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(s);
+        seen[s] = true;
+        max[s] = Double.NEGATIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            if (v == t) return max[v];
+            for (Edge e : forest) {
+                int a = e.either(), b = e.other(a);
+                int w = a == v ? b : b == v ? a : -1;
+                if (w < 0 || seen[w]) continue;
+                seen[w] = true;
+                max[w] = Math.max(max[v], e.weight());
+                queue.add(w);
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
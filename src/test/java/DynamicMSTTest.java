@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import algo.CsrGraph;
+import algo.DynamicMST;
+import algo.KruskalMST;
+
+public class DynamicMSTTest {
+
+    @Test
+    @DisplayName("Random insertions and deletions keep the forest minimal")
+    void testMatchesRecomputation() {
+        Random random = new Random(3);
+        int V = 40;
+        CsrGraph.Builder seed = new CsrGraph.Builder(V);
+        for (int i = 0; i < 60; i++) {
+            seed.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(30));
+        }
+        CsrGraph G = seed.build();
+        DynamicMST dynamic = new DynamicMST(G, new KruskalMST(G).edges());
+
+        // live edges mirrored outside the structure: {id, from, to, weight}
+        List<double[]> live = new ArrayList<>();
+        for (int e = 0; e < G.E(); e++) live.add(new double[]{e, G.from(e), G.to(e), G.weight(e)});
+
+        for (int step = 0; step < 500; step++) {
+            if (live.isEmpty() || random.nextBoolean()) {
+                int v = random.nextInt(V), w = random.nextInt(V);
+                double weight = random.nextInt(30);
+                int id = dynamic.insert(v, w, weight);
+                live.add(new double[]{id, v, w, weight});
+            } else {
+                double[] e = live.remove(random.nextInt(live.size()));
+                dynamic.delete((int) e[0]);
+            }
+
+            CsrGraph.Builder current = new CsrGraph.Builder(V);
+            for (double[] e : live) current.addEdge((int) e[1], (int) e[2], e[3]);
+            assertEquals(new KruskalMST(current.build()).weight(), dynamic.weight(), 1e-9,
+                    "Dynamic forest diverged from recomputation at step " + step);
+        }
+    }
+
+    @Test
+    @DisplayName("A lighter edge on a cycle replaces the heaviest tree edge")
+    void testInsertReplacesMaxEdge() {
+        DynamicMST dynamic = new DynamicMST(3);
+        int a = dynamic.insert(0, 1, 1.0);
+        int b = dynamic.insert(1, 2, 5.0);
+        int c = dynamic.insert(0, 2, 2.0);
+
+        assertTrue(dynamic.inTree(a));
+        assertFalse(dynamic.inTree(b), "The heaviest edge on the cycle should leave the tree.");
+        assertTrue(dynamic.inTree(c));
+        assertEquals(3.0, dynamic.weight(), 1e-12);
+
+        dynamic.delete(c);
+        assertTrue(dynamic.inTree(b), "Deleting a tree edge should bring back the replacement edge.");
+        assertEquals(6.0, dynamic.weight(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Deleting a tree edge only searches the smaller half of its tree")
+    void testDeleteSearchesSmallerHalf() {
+        // a small triangle next to a large dense component full of non-tree edges
+        Random random = new Random(5);
+        int V = 2003;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        builder.addEdge(0, 1, 1.0);
+        builder.addEdge(1, 2, 2.0);
+        builder.addEdge(0, 2, 3.0);
+        for (int v = 4; v < V; v++) builder.addEdge(v - 1, v, 1.0);
+        for (int i = 0; i < 20000; i++) builder.addEdge(3 + random.nextInt(V - 3), 3 + random.nextInt(V - 3), 5.0);
+        CsrGraph G = builder.build();
+        DynamicMST dynamic = new DynamicMST(G, new KruskalMST(G).edges());
+
+        long before = dynamic.getOperationCount();
+        dynamic.delete(0);                      // tree edge 0-1, replaced by 0-2
+        assertTrue(dynamic.inTree(2));
+        assertEquals(new KruskalMST(G).weight() - 1.0 + 3.0, dynamic.weight(), 1e-9);
+        assertTrue(dynamic.getOperationCount() - before < 50,
+                "took " + (dynamic.getOperationCount() - before) + " operations");
+    }
+}
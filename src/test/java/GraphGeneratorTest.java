@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import algo.CsrGraph;
+import algo.KruskalMST;
+import algo.PrimMST;
+import gen.GraphGenerator;
+import gen.GraphGenerator.Topology;
+import gen.GraphGenerator.Weights;
+import gen.GraphSpec;
+import gen.SyntheticSource;
+import io.GraphInput;
+
+public class GraphGeneratorTest {
+
+    @Test
+    @DisplayName("Same spec gives the same graph, for every topology")
+    void testReproducible() {
+        for (Topology topology : Topology.values()) {
+            GraphSpec spec = new GraphSpec(topology, 2000, 8000, Weights.DUPLICATE, 3L);
+            CsrGraph a = GraphGenerator.generate(spec), b = GraphGenerator.generate(spec);
+            assertEquals(a.E(), b.E(), topology.name());
+            for (int e = 0; e < a.E(); e++) {
+                assertEquals(a.from(e), b.from(e));
+                assertEquals(a.to(e), b.to(e));
+                assertEquals(a.weight(e), b.weight(e));
+            }
+            assertEquals(new KruskalMST(a).weight(), new PrimMST(a).weight(), 1e-6, topology.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Topologies have the expected size and shape")
+    void testShapes() {
+        CsrGraph sparse = GraphGenerator.generate(Topology.SPARSE, 1000, 5000, Weights.UNIFORM, 1L);
+        assertEquals(5000, sparse.E());
+        assertEquals(999, edgeCount(new KruskalMST(sparse)), "Sparse graphs are connected.");
+
+        CsrGraph grid = GraphGenerator.generate(Topology.GRID, 100, 0, Weights.INTEGER, 1L);
+        assertEquals(2 * 10 * 9, grid.E(), "A 10 x 10 grid has 180 edges.");
+
+        CsrGraph dense = GraphGenerator.generate(Topology.DENSE, 1000, 100_000, Weights.UNIFORM, 1L);
+        assertEquals(100_000, dense.E(), 2_000, "Dense edge count should be close to the expectation.");
+
+        CsrGraph powerLaw = GraphGenerator.generate(Topology.POWER_LAW, 5000, 20_000, Weights.EXPONENTIAL, 1L);
+        assertEquals(4999, edgeCount(new KruskalMST(powerLaw)), "Preferential attachment graphs are connected.");
+        int maxDegree = 0;
+        for (int v = 0; v < powerLaw.V(); v++) maxDegree = Math.max(maxDegree, powerLaw.degree(v));
+        assertTrue(maxDegree > 50, "Power-law graphs have hubs, max degree was " + maxDegree);
+
+        CsrGraph geometric = GraphGenerator.generate(Topology.GEOMETRIC, 5000, 20_000, Weights.UNIFORM, 1L);
+        assertEquals(20_000, geometric.E(), 2_000);
+        for (int e = 0; e < geometric.E(); e++) assertTrue(geometric.weight(e) < 0.05);
+    }
+
+    @Test
+    @DisplayName("Impossible sizes are rejected up front")
+    void testRejectsImpossibleSizes() {
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.generate(Topology.SPARSE, 0, 10, Weights.UNIFORM, 1L));
+        assertEquals(0, GraphGenerator.generate(Topology.SPARSE, 0, 0, Weights.UNIFORM, 1L).V());
+        // m (V - 1) fits an int, but its 2 m (V - 1) edge endpoints do not
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphGenerator.generate(Topology.POWER_LAW, 1 << 20, 1100L << 20, Weights.UNIFORM, 1L));
+    }
+
+    @Test
+    @DisplayName("Synthetic source streams one labelled-by-id graph per spec")
+    void testSyntheticSource() {
+        SyntheticSource source = new SyntheticSource(java.util.List.of(
+                GraphSpec.parse("sparse:100:400"), GraphSpec.parse("grid:1e2:0:integer:5")));
+        GraphInput first = source.next();
+        assertEquals(1, first.id());
+        assertEquals(400, first.graph().E());
+        assertEquals("7", first.label(7));
+        assertEquals(2, source.next().id());
+        assertFalse(source.hasNext());
+    }
+
+    private static int edgeCount(KruskalMST mst) {
+        int n = 0;
+        for (Object e : mst.edges()) n++;
+        return n;
+    }
+}
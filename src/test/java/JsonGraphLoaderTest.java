@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+
+import io.GraphInput;
+import io.JsonGraphLoader;
+import io.LabelDictionary;
+import com.google.gson.JsonParseException;
+
+public class JsonGraphLoaderTest {
+
+    private static final String TWO_GRAPHS = "{\"graphs\": ["
+            + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1.5},"
+            + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2.0}]},"
+            + "{\"edges\": [{\"weight\": 3, \"from\": \"X\", \"to\": \"Y\"}], \"nodes\": [\"X\", \"Y\"], \"id\": 2}"
+            + "]}";
+
+    @Test
+    @DisplayName("Loader streams graphs one at a time with interned labels")
+    void testStreamsGraphs() throws Exception {
+        try (JsonGraphLoader loader = new JsonGraphLoader(new StringReader(TWO_GRAPHS))) {
+            assertTrue(loader.hasNext());
+            GraphInput first = loader.next();
+            assertEquals(1, first.id());
+            assertEquals(3, first.graph().V());
+            assertEquals(2, first.graph().E());
+            assertEquals("B", first.label(first.graph().to(0)));
+            assertEquals(1.5, first.graph().weight(0), 1e-12);
+
+            // edges before nodes are buffered until labels are known
+            GraphInput second = loader.next();
+            assertEquals(2, second.id());
+            assertEquals(1, second.graph().E());
+            assertEquals("X", second.label(second.graph().from(0)));
+
+            assertFalse(loader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Duplicate labels resolve to the last occurrence")
+    void testDuplicateLabelsLastWins() throws Exception {
+        String json = "{\"graphs\": [{\"id\": 7, \"nodes\": [\"T\", \"U\", \"T\"],"
+                + " \"edges\": [{\"from\": \"T\", \"to\": \"U\", \"weight\": 1}]}]}";
+        try (JsonGraphLoader loader = new JsonGraphLoader(new StringReader(json))) {
+            GraphInput g = loader.next();
+            assertEquals(3, g.graph().V());
+            assertEquals(2, g.graph().from(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Duplicate-label policies: first wins, or rejection")
+    void testDuplicatePolicies() throws Exception {
+        String json = "{\"graphs\": [{\"id\": 7, \"nodes\": [\"T\", \"U\", \"T\"],"
+                + " \"edges\": [{\"from\": \"T\", \"to\": \"U\", \"weight\": 1}]}]}";
+        try (JsonGraphLoader loader = new JsonGraphLoader(new StringReader(json), LabelDictionary.Duplicates.FIRST_WINS)) {
+            GraphInput g = loader.next();
+            assertEquals(3, g.graph().V());
+            assertEquals(0, g.graph().from(0));
+            assertEquals("T", g.label(2));
+        }
+        try (JsonGraphLoader loader = new JsonGraphLoader(new StringReader(json), LabelDictionary.Duplicates.REJECT)) {
+            JsonParseException e = assertThrows(JsonParseException.class, loader::next);
+            assertTrue(e.getMessage().contains("\"T\""));
+        }
+    }
+
+    @Test
+    @DisplayName("An edge without a weight is a parse error, not weight 0")
+    void testMissingWeight() throws Exception {
+        String json = "{\"graphs\": [{\"id\": 3, \"nodes\": [\"A\", \"B\"],"
+                + " \"edges\": [{\"from\": \"A\", \"to\": \"B\"}]}]}";
+        try (JsonGraphLoader loader = new JsonGraphLoader(new StringReader(json))) {
+            JsonParseException e = assertThrows(JsonParseException.class, loader::next);
+            assertTrue(e.getMessage().contains("\"weight\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Label dictionary grows, resolves labels and keeps reverse lookup")
+    void testLabelDictionary() {
+        LabelDictionary dict = new LabelDictionary(0);
+        for (int i = 0; i < 10_000; i++) assertEquals(i, dict.add("v" + i));
+        assertEquals(10_000, dict.size());
+        assertEquals(0, dict.duplicates());
+        for (int i = 0; i < 10_000; i += 97) {
+            assertEquals(i, dict.indexOf("v" + i));
+            assertEquals("v" + i, dict.label(i));
+        }
+        assertEquals(-1, dict.indexOf("w1"));
+
+        assertEquals(10_000, dict.add("v5"));
+        assertEquals(10_000, dict.indexOf("v5"), "last occurrence wins by default");
+        assertEquals(1, dict.duplicates());
+        assertEquals(10_001, dict.labels().length);
+    }
+}
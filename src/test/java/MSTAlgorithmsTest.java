@@ -6,8 +6,19 @@ import edu.princeton.cs.algs4.Edge;
 import edu.princeton.cs.algs4.EdgeWeightedGraph;
 import edu.princeton.cs.algs4.UF;
 
+import algo.BoruvkaMST;
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import algo.EdgeSort;
+import algo.EdgeStream;
+import algo.ExternalKruskalMST;
 import algo.KruskalMST;
+import algo.MSTMetrics;
+import algo.MSTMetrics.Phase;
+import algo.MSTVerifier;
 import algo.PrimMST;
+import algo.VertexOrdering;
+import io.GraphInput;
 
 public class MSTAlgorithmsTest {
 
@@ -112,4 +123,369 @@ public class MSTAlgorithmsTest {
         assertEquals(2, edgeCount,
                 "For disconnected graphs, the result should be a minimum spanning forest.");
     }
+
+    @Test
+    @DisplayName("CSR graph path matches the algs4 EdgeWeightedGraph path")
+    void testCsrMatchesEdgeWeightedGraph() {
+        EdgeWeightedGraph G = buildSmallGraph();
+        CsrGraph csr = CsrGraph.from(G);
+
+        assertEquals(G.V(), csr.V());
+        assertEquals(G.E(), csr.E());
+        assertEquals(new PrimMST(G).weight(), new PrimMST(csr).weight(), 1e-9,
+                "Prim on CSR should produce the same MST cost.");
+        assertEquals(new KruskalMST(G).weight(), new KruskalMST(csr).weight(), 1e-9,
+                "Kruskal on CSR should produce the same MST cost.");
+
+        // same insertion order as buildSmallGraph()
+        CsrGraph.Builder builder = new CsrGraph.Builder(4);
+        for (Edge e : new Edge[]{new Edge(0, 1, 3.0), new Edge(0, 2, 1.0), new Edge(0, 3, 4.0),
+                new Edge(1, 3, 2.0), new Edge(2, 3, 5.0)}) {
+            builder.addEdge(e.either(), e.other(e.either()), e.weight());
+        }
+        assertEquals(new PrimMST(G).getOperationCount(), new PrimMST(builder.build()).getOperationCount(),
+                "CSR adjacency order should replay the same Prim operations.");
+    }
+
+    @Test
+    @DisplayName("Parallel Borůvka matches Kruskal on a random graph with duplicate weights")
+    void testBoruvkaMatchesKruskal() {
+        java.util.Random random = new java.util.Random(42);
+        CsrGraph.Builder builder = new CsrGraph.Builder(500);
+        for (int i = 0; i < 5000; i++) {
+            builder.addEdge(random.nextInt(500), random.nextInt(500), random.nextInt(100));
+        }
+        CsrGraph G = builder.build();
+
+        KruskalMST kruskal = new KruskalMST(G);
+        BoruvkaMST boruvka = new BoruvkaMST(G, 4);
+
+        assertEquals(kruskal.weight(), boruvka.weight(), 1e-6,
+                "Borůvka should produce the same MST cost as Kruskal.");
+        int kruskalEdges = 0, boruvkaEdges = 0;
+        for (Edge e : kruskal.edges()) kruskalEdges++;
+        for (Edge e : boruvka.edges()) boruvkaEdges++;
+        assertEquals(kruskalEdges, boruvkaEdges, "Both forests should have the same number of edges.");
+    }
+
+    @Test
+    @DisplayName("Filter-Kruskal returns exactly the classic Kruskal tree")
+    void testFilterKruskalMatchesClassic() {
+        java.util.Random random = new java.util.Random(7);
+        CsrGraph.Builder builder = new CsrGraph.Builder(300);
+        for (int i = 0; i < 6000; i++) {
+            builder.addEdge(random.nextInt(300), random.nextInt(300), random.nextInt(50));
+        }
+        CsrGraph G = builder.build();
+
+        KruskalMST classic = new KruskalMST(G, KruskalMST.Variant.CLASSIC);
+        KruskalMST filter = new KruskalMST(G, KruskalMST.Variant.FILTER);
+
+        assertEquals(classic.weight(), filter.weight(), 1e-9);
+        assertEquals(classic.edges().toString(), filter.edges().toString(),
+                "Filter-Kruskal should take the same edges in the same order.");
+    }
+
+    @Test
+    @DisplayName("Parallel Kruskal returns exactly the classic Kruskal tree")
+    void testParallelKruskalMatchesClassic() {
+        java.util.Random random = new java.util.Random(13);
+        CsrGraph.Builder builder = new CsrGraph.Builder(5000);
+        for (int i = 0; i < 40000; i++) {
+            builder.addEdge(random.nextInt(5000), random.nextInt(5000), random.nextInt(100));
+        }
+        CsrGraph G = builder.build();
+
+        KruskalMST classic = new KruskalMST(G, KruskalMST.Variant.CLASSIC);
+        KruskalMST parallel = new KruskalMST(G, KruskalMST.Variant.PARALLEL);
+
+        assertEquals(classic.weight(), parallel.weight(), 1e-9);
+        assertEquals(classic.edges().toString(), parallel.edges().toString(),
+                "Parallel Kruskal should take the same edges in the same order.");
+        assertEquals(classic.getOperationCount(), parallel.getOperationCount());
+    }
+
+    @Test
+    @DisplayName("Packed-key edge sort orders by exact weight, then id")
+    void testEdgeSort() {
+        java.util.Random random = new java.util.Random(17);
+        int n = 20000;
+        double[] weight = new double[n];
+        Integer[] expected = new Integer[n];
+        for (int e = 0; e < n; e++) {
+            // many weights collide once rounded to float, some are exactly equal
+            weight[e] = (random.nextBoolean() ? -1 : 1) * (1.0 + random.nextInt(50) * 1e-12);
+            expected[e] = e;
+        }
+        java.util.Arrays.sort(expected, (a, b) -> weight[a] != weight[b]
+                ? Double.compare(weight[a], weight[b]) : Integer.compare(a, b));
+
+        int[] ids = new int[n];
+        for (int e = 0; e < n; e++) ids[e] = e;
+        EdgeSort.sort(ids, weight);
+        for (int i = 0; i < n; i++) assertEquals((int) expected[i], ids[i], "Position " + i);
+
+        // ties still end in id order when the ids come in shuffled, as after a Filter-Kruskal partition
+        for (int e = n - 1; e > 0; e--) {
+            int j = random.nextInt(e + 1), t = ids[e];
+            ids[e] = ids[j];
+            ids[j] = t;
+        }
+        EdgeSort.sort(ids, weight);
+        for (int i = 0; i < n; i++) assertEquals((int) expected[i], ids[i], "Shuffled position " + i);
+
+        // large enough to scatter in parallel chunks
+        int m = 200_000;
+        double[] many = new double[m];
+        int[] manyIds = new int[m];
+        for (int e = 0; e < m; e++) {
+            many[e] = random.nextInt(1000) - 500.5;
+            manyIds[e] = e;
+        }
+        EdgeSort.sort(manyIds, many);
+        for (int i = 1; i < m; i++) {
+            assertTrue(many[manyIds[i - 1]] < many[manyIds[i]]
+                    || (many[manyIds[i - 1]] == many[manyIds[i]] && manyIds[i - 1] < manyIds[i]), "Position " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Edge sort makes at most one pass per key byte when distinct weights nearly tie")
+    void testEdgeSortNearTies() {
+        java.util.Random random = new java.util.Random(23);
+        for (int n : new int[]{20000, 80000}) {
+            // unique weights that all round to the same float
+            double[] weight = new double[n];
+            for (int e = 0; e < n; e++) weight[e] = 1.0 + random.nextInt(n) * 1e-12;
+            int[] ids = new int[n];
+            for (int e = 0; e < n; e++) ids[e] = e;
+            long examined = EdgeSort.sort(ids, weight);
+            assertTrue(examined > 0 && examined <= 8L * n, n + " edges took " + examined + " key reads");
+            for (int i = 1; i < n; i++) {
+                assertTrue(weight[ids[i - 1]] < weight[ids[i]]
+                        || (weight[ids[i - 1]] == weight[ids[i]] && ids[i - 1] < ids[i]), "Position " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("External-memory Kruskal merges disk runs into the classic Kruskal tree")
+    void testExternalKruskalMatchesClassic() throws Exception {
+        java.util.Random random = new java.util.Random(19);
+        CsrGraph.Builder builder = new CsrGraph.Builder(2000);
+        for (int i = 0; i < 20000; i++) {
+            builder.addEdge(random.nextInt(2000), random.nextInt(2000), random.nextInt(30));
+        }
+        CsrGraph G = builder.build();
+
+        java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("mst-test");
+        try {
+            KruskalMST classic = new KruskalMST(G);
+            ExternalKruskalMST external = new ExternalKruskalMST(EdgeStream.of(G), dir, 1500, null);
+            assertEquals(14, external.runs());
+            assertEquals(classic.edges().toString(), external.edges().toString(),
+                    "External Kruskal should take the same edges in the same order.");
+            assertTrue(external.bytesRead() > 0);
+        } finally {
+            java.nio.file.Files.delete(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Every Prim heap option produces the same MST cost")
+    void testPrimHeapOptions() {
+        java.util.Random random = new java.util.Random(11);
+        CsrGraph.Builder builder = new CsrGraph.Builder(400);
+        for (int i = 0; i < 4000; i++) {
+            builder.addEdge(random.nextInt(400), random.nextInt(400), random.nextInt(20));
+        }
+        CsrGraph G = builder.build();
+
+        double expected = new KruskalMST(G).weight();
+        for (PrimMST.Heap heap : PrimMST.Heap.values()) {
+            assertEquals(expected, new PrimMST(G, heap).weight(), 1e-9,
+                    "Prim with heap " + heap + " should match Kruskal.");
+        }
+    }
+
+    @Test
+    @DisplayName("Prim forest mode grows components in parallel into the same forest")
+    void testPrimForestMode() {
+        // many small components plus isolated vertices: 200 groups of 50 vertices, every 7th vertex left alone
+        java.util.Random random = new java.util.Random(23);
+        int groups = 200, size = 50;
+        CsrGraph.Builder builder = new CsrGraph.Builder(groups * size);
+        for (int g = 0; g < groups; g++) {
+            for (int i = 0; i < 4 * size; i++) {
+                int v = g * size + random.nextInt(size), w = g * size + random.nextInt(size);
+                if (v % 7 != 0 && w % 7 != 0) builder.addEdge(v, w, random.nextInt(20));
+            }
+        }
+        CsrGraph G = builder.build();
+
+        CountingMetrics sequentialMetrics = new CountingMetrics(), forestMetrics = new CountingMetrics();
+        PrimMST sequential = new PrimMST(G, PrimMST.Heap.AUTO, sequentialMetrics);
+        PrimMST forest = new PrimMST(G, PrimMST.Heap.AUTO, forestMetrics, PrimMST.Mode.FOREST);
+
+        assertEquals(sequential.weight(), forest.weight(), 1e-9);
+        int sequentialEdges = 0, forestEdges = 0;
+        for (Edge e : sequential.edges()) sequentialEdges++;
+        for (Edge e : forest.edges()) forestEdges++;
+        assertEquals(sequentialEdges, forestEdges);
+        assertTrue(MSTVerifier.verify(G, forest.edges(), forest.weight()));
+
+        // isolated vertices never touch a heap in forest mode
+        assertEquals(G.V(), sequentialMetrics.delMins());
+        assertEquals(forestMetrics.heapInserts(), forestMetrics.delMins());
+        assertTrue(forestMetrics.delMins() < G.V());
+        assertTrue(forest.getOperationCount() > 0);
+
+        // any collector sees the per-component totals, not only CountingMetrics
+        long[] delMins = new long[1];
+        MSTMetrics custom = new MSTMetrics() {
+            public void heapInsert() { }
+            public void decreaseKey() { }
+            public void delMin() { delMins[0]++; }
+            public void sortComparisons(long n) { }
+            public void findPath(int length) { }
+            public void union() { }
+            public void rejectedEdge() { }
+            public void bytesRead(long bytes) { }
+            public void bytesWritten(long bytes) { }
+            public void phase(Phase phase, long nanos) { }
+        };
+        new PrimMST(G, PrimMST.Heap.AUTO, custom, PrimMST.Mode.FOREST);
+        assertEquals(forestMetrics.delMins(), delMins[0]);
+
+        // replayed find paths keep their total length, both in bulk and through the per-event hook
+        CountingMetrics finds = new CountingMetrics();
+        finds.findPath(3);
+        finds.findPath(5);
+        finds.findPath(1);
+        CountingMetrics bulk = new CountingMetrics();
+        finds.replay(bulk);
+        assertEquals(3, bulk.finds());
+        assertEquals(9, bulk.findPathLength());
+        long[] paths = new long[2];
+        finds.replay(new MSTMetrics() {
+            public void heapInsert() { }
+            public void decreaseKey() { }
+            public void delMin() { }
+            public void sortComparisons(long n) { }
+            public void findPath(int length) { paths[0]++; paths[1] += length; }
+            public void union() { }
+            public void rejectedEdge() { }
+            public void bytesRead(long bytes) { }
+            public void bytesWritten(long bytes) { }
+            public void phase(Phase phase, long nanos) { }
+        });
+        assertArrayEquals(new long[]{3, 9}, paths);
+    }
+
+    @Test
+    @DisplayName("Vertex orderings are permutations that keep the MST and shrink RCM bandwidth")
+    void testVertexOrderings() {
+        // 60 x 60 grid with its vertex ids shuffled
+        int side = 60, V = side * side;
+        java.util.Random random = new java.util.Random(31);
+        int[] shuffle = new int[V];
+        for (int v = 0; v < V; v++) shuffle[v] = v;
+        for (int v = V - 1; v > 0; v--) {
+            int j = random.nextInt(v + 1), t = shuffle[v];
+            shuffle[v] = shuffle[j];
+            shuffle[j] = t;
+        }
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) builder.addEdge(shuffle[v], shuffle[v + 1], random.nextInt(100));
+                if (r + 1 < side) builder.addEdge(shuffle[v], shuffle[v + side], random.nextInt(100));
+            }
+        }
+        String[] labels = new String[V];
+        for (int v = 0; v < V; v++) labels[v] = "n" + v;
+        GraphInput input = new GraphInput(1, labels, builder.build());
+        double weight = new KruskalMST(input.graph()).weight();
+
+        for (VertexOrdering ordering : VertexOrdering.values()) {
+            int[] perm = ordering.permutation(input.graph());
+            int[] inverse = VertexOrdering.inverse(perm);
+            for (int v = 0; v < V; v++) assertEquals(v, inverse[perm[v]], ordering + " is not a permutation");
+
+            GraphInput reordered = input.reorder(ordering);
+            assertEquals(weight, new PrimMST(reordered.graph()).weight(), 1e-9, ordering.toString());
+            for (int e = 0; e < V; e += 101) {
+                assertEquals(input.label(input.graph().from(e)), reordered.label(reordered.graph().from(e)),
+                        "edge ids and endpoint labels survive " + ordering);
+            }
+            assertTrue(reordered.reorderNanos() > 0);
+        }
+        assertTrue(bandwidth(input.reorder(VertexOrdering.RCM).graph()) <= 2 * side,
+                "RCM numbers a grid in diagonal bands");
+        assertTrue(bandwidth(input.graph()) > 10 * side);
+    }
+
+    private static int bandwidth(CsrGraph G) {
+        int band = 0;
+        for (int e = 0; e < G.E(); e++) band = Math.max(band, Math.abs(G.from(e) - G.to(e)));
+        return band;
+    }
+
+    @Test
+    @DisplayName("Verifier accepts minimum spanning forests and rejects heavier trees")
+    void testVerifier() {
+        EdgeWeightedGraph G = buildSmallGraph();
+        KruskalMST kruskal = new KruskalMST(G);
+        assertTrue(MSTVerifier.verify(G, kruskal.edges(), kruskal.weight()));
+
+        // spanning tree A-B, A-D, C-D (weight 12) is not minimal
+        java.util.List<Edge> heavier = java.util.List.of(
+                new Edge(0, 1, 3.0), new Edge(0, 3, 4.0), new Edge(2, 3, 5.0));
+        assertFalse(MSTVerifier.verify(G, heavier, 12.0), "A non-minimal tree must be rejected.");
+
+        // a forest that misses an edge of a component is not spanning
+        java.util.List<Edge> partial = java.util.List.of(new Edge(0, 2, 1.0), new Edge(1, 3, 2.0));
+        assertFalse(MSTVerifier.verify(G, partial, 3.0), "A non-spanning forest must be rejected.");
+    }
+
+    @Test
+    @DisplayName("Verifier agrees with every engine on a random forest")
+    void testVerifierOnRandomForest() {
+        java.util.Random random = new java.util.Random(5);
+        CsrGraph.Builder builder = new CsrGraph.Builder(3000);
+        for (int i = 0; i < 6000; i++) {
+            builder.addEdge(random.nextInt(3000), random.nextInt(3000), random.nextInt(1000) / 10.0);
+        }
+        CsrGraph G = builder.build();
+
+        PrimMST prim = new PrimMST(G);
+        KruskalMST kruskal = new KruskalMST(G);
+        BoruvkaMST boruvka = new BoruvkaMST(G);
+        assertTrue(MSTVerifier.verify(G, prim.edges(), prim.weight()));
+        assertTrue(MSTVerifier.verify(G, kruskal.edges(), kruskal.weight()));
+        assertTrue(MSTVerifier.verify(G, boruvka.edges(), boruvka.weight()));
+    }
+
+    @Test
+    @DisplayName("Metrics collectors see every heap and union-find operation")
+    void testMetricsCounters() {
+        CsrGraph G = CsrGraph.from(buildSmallGraph());
+
+        CountingMetrics primMetrics = new CountingMetrics();
+        PrimMST prim = new PrimMST(G, PrimMST.Heap.BINARY, primMetrics);
+        assertEquals(new PrimMST(G, PrimMST.Heap.BINARY).weight(), prim.weight(), 1e-9);
+        assertEquals(G.V(), primMetrics.heapInserts(), "Every vertex enters the heap once.");
+        assertEquals(G.V(), primMetrics.delMins(), "Every vertex leaves the heap once.");
+
+        CountingMetrics kruskalMetrics = new CountingMetrics();
+        KruskalMST kruskal = new KruskalMST(G, KruskalMST.Variant.CLASSIC, kruskalMetrics);
+        assertEquals(G.V() - 1, kruskalMetrics.unions(), "A spanning tree needs V-1 unions.");
+        assertEquals(2 * (kruskalMetrics.unions() + kruskalMetrics.rejectedEdges()), kruskalMetrics.finds());
+        assertTrue(kruskalMetrics.sortComparisons() > 0);
+        assertTrue(kruskalMetrics.sortComparisons() <= (long) G.E() * G.E(),
+                "A sort of E edges examines fewer than E^2 keys.");
+        assertEquals(new KruskalMST(G).getOperationCount(), kruskal.getOperationCount(),
+                "Attaching a collector must not change the operation count.");
+    }
 }
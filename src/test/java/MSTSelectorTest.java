@@ -0,0 +1,171 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import algo.CsrGraph;
+import algo.KruskalMST;
+import algo.GraphStats;
+import algo.MSTSelector;
+import algo.MSTSelector.Engine;
+import io.AlgorithmResult;
+import io.GraphInput;
+import io.GraphResult;
+import io.ResultWriter;
+
+public class MSTSelectorTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("Graph statistics count components")
+    void testGraphStats() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(6);
+        builder.addEdge(0, 1, 2.0);
+        builder.addEdge(1, 2, 2.0);
+        builder.addEdge(3, 4, 5.0);
+        GraphStats stats = GraphStats.of(builder.build());
+        assertEquals(3, stats.components(), "{0,1,2}, {3,4} and the isolated vertex 5");
+        assertEquals(3.0 / 15.0, stats.density(), 1e-12);
+        assertEquals(0.5, stats.duplicateRatio(), 1e-12, "2.0 repeats once among three sampled weights");
+    }
+
+    @Test
+    @DisplayName("Selector follows the calibration data")
+    void testCalibration() throws Exception {
+        // Kruskal measured ten times faster per operation than Prim and Borůvka
+        StringBuilder csv = new StringBuilder(ResultWriter.SAMPLES_HEADER + "\n");
+        for (int V = 100; V <= 1000; V += 100) {
+            int E = 4 * V;
+            csv.append(row(V, E, "prim", 4L * E, 4e-4 * E));
+            csv.append(row(V, E, "kruskal", 12L * E, 1.2e-4 * E));
+            csv.append(row(V, E, "boruvka", 20L * E, 2e-3 * E));
+        }
+        Path samples = tmp.resolve("samples.csv");
+        Files.writeString(samples, csv);
+
+        MSTSelector selector = MSTSelector.calibrate(samples);
+        for (Engine engine : Engine.values()) assertEquals(10, selector.samples(engine));
+        GraphStats stats = GraphStats.of(5000, 20000);
+        assertEquals(Engine.KRUSKAL, selector.select(stats));
+        assertEquals(4e-4 * 20000, selector.predictMillis(Engine.PRIM, stats), 0.5);
+    }
+
+    @Test
+    @DisplayName("Calibration samples accumulate across runs, locale-independent and with components")
+    void testSamplesAcrossRuns() throws Exception {
+        // a forest of two paths: Borůvka's growth term depends on the component count
+        CsrGraph.Builder builder = new CsrGraph.Builder(8);
+        for (int v = 0; v < 3; v++) builder.addEdge(v, v + 1, v + 0.5);
+        for (int v = 4; v < 7; v++) builder.addEdge(v, v + 1, v + 0.25);
+        GraphInput input = new GraphInput(1, null, builder.build());
+        KruskalMST mst = new KruskalMST(input.graph());
+
+        Path samples = tmp.resolve("samples.csv");
+        Locale saved = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);   // decimal comma
+        try {
+            for (String algorithm : new String[]{"prim", "boruvka"}) {   // one engine per run, as --adaptive does
+                AlgorithmResult result = new AlgorithmResult(algorithm, mst.edges(), mst.weight(), 40, 1.25, null, null);
+                try (ResultWriter writer = new ResultWriter(tmp, tmp.resolve("summary.csv"), true, samples)) {
+                    writer.beginDataset("one");
+                    writer.write(new GraphResult("one", input, List.of(result), List.of(), new double[0],
+                            GraphStats.of(input.graph())));
+                    writer.write(new GraphResult("one", input, List.of(result)));   // no statistics: no sample
+                }
+            }
+        } finally {
+            Locale.setDefault(saved);
+        }
+
+        List<String> lines = Files.readAllLines(samples);
+        assertEquals(List.of(ResultWriter.SAMPLES_HEADER, "8,6,2,0.0000,prim,40,1.250", "8,6,2,0.0000,boruvka,40,1.250"),
+                lines);
+        assertTrue(Files.readAllLines(tmp.resolve("summary.csv")).get(1).contains(",1.250,"));
+
+        MSTSelector selector = MSTSelector.calibrate(samples);
+        assertEquals(1, selector.samples(Engine.PRIM));
+        assertEquals(1, selector.samples(Engine.BORUVKA));
+        assertEquals(0, selector.samples(Engine.KRUSKAL), "No rows: built-in defaults.");
+        assertEquals(40, selector.predictOperations(Engine.BORUVKA, GraphStats.of(8, 6, 2)), 1e-9,
+                "Fitted and applied on the real component count");
+    }
+
+    @Test
+    @DisplayName("Summary rows without a component count are left out of Borůvka's fit")
+    void testSummaryWithoutComponents() throws Exception {
+        Path summary = tmp.resolve("summary.csv");
+        Files.writeString(summary, "Dataset,Graph_ID,Vertices,Edges,Algorithm,Total_Cost,Operations_Count,Execution_Time_ms\n"
+                + "small,1,8,15,prim,223.530000,56,0.712\n"
+                + "small,1,8,15,boruvka,223.530000,96,0.509\n");
+        MSTSelector selector = MSTSelector.calibrate(summary);
+        assertEquals(1, selector.samples(Engine.PRIM));
+        assertEquals(0, selector.samples(Engine.BORUVKA));
+        assertEquals(Engine.PRIM, MSTSelector.defaults().select(GraphStats.of(1000, 4000)));
+    }
+
+    @Test
+    @DisplayName("Weight duplication enters the fit, and samples under an older header are carried over")
+    void testDuplicationAndOldHeader() throws Exception {
+        Path samples = tmp.resolve("samples.csv");
+        Files.writeString(samples, "Vertices,Edges,Components,Algorithm,Operations_Count,Execution_Time_ms\n"
+                + "100,400,1,prim,900,0.500\n");
+        CsrGraph.Builder builder = new CsrGraph.Builder(4);
+        for (int v = 0; v < 3; v++) builder.addEdge(v, v + 1, 1.0);   // every weight repeated
+        GraphInput input = new GraphInput(2, null, builder.build());
+        KruskalMST mst = new KruskalMST(input.graph());
+        AlgorithmResult result = new AlgorithmResult("prim", mst.edges(), mst.weight(), 7, 0.25, null, null);
+        try (ResultWriter writer = new ResultWriter(tmp, tmp.resolve("summary.csv"), true, samples)) {
+            writer.beginDataset("two");
+            writer.write(new GraphResult("two", input, List.of(result), List.of(), new double[0],
+                    GraphStats.of(input.graph())));
+        }
+        assertEquals(List.of(ResultWriter.SAMPLES_HEADER, "100,400,1,,prim,900,0.500", "4,3,1,1.0000,prim,7,0.250"),
+                Files.readAllLines(samples));
+        assertEquals(2, MSTSelector.calibrate(samples).samples(Engine.PRIM));
+
+        // Kruskal's operations grow with the edges whose weight repeats
+        StringBuilder csv = new StringBuilder(ResultWriter.SAMPLES_HEADER + "\n");
+        for (int V = 100; V <= 1000; V += 100) {
+            for (double d : new double[]{0.0, 0.5, 1.0}) {
+                int E = 4 * V;
+                long ops = Math.round(2.0 * (V + E) + 3.0 * d * E);
+                csv.append(String.format(Locale.ROOT, "%d,%d,1,%.4f,kruskal,%d,%.3f\n", V, E, d, ops, 1e-4 * ops));
+            }
+        }
+        Files.writeString(samples, csv);
+        MSTSelector selector = MSTSelector.calibrate(samples);
+        assertEquals(2.0 * 25000 + 3.0 * 0.5 * 20000,
+                selector.predictOperations(Engine.KRUSKAL, GraphStats.of(5000, 20000, 1, 0.5)), 1.0);
+        assertTrue(selector.predictOperations(Engine.KRUSKAL, GraphStats.of(5000, 20000, 1, 1.0))
+                > selector.predictOperations(Engine.KRUSKAL, GraphStats.of(5000, 20000, 1, 0.0)));
+    }
+
+    @Test
+    @DisplayName("Every tenth selection explores the engine with the fewest samples")
+    void testExploration() throws Exception {
+        Path samples = tmp.resolve("samples.csv");
+        Files.writeString(samples, ResultWriter.SAMPLES_HEADER + "\n" + row(100, 400, "prim", 900, 0.5)
+                + row(200, 800, "prim", 1900, 1.0) + row(100, 400, "boruvka", 1500, 2.0));
+        MSTSelector selector = MSTSelector.calibrate(samples);
+
+        List<Engine> explored = new java.util.ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            Engine engine = selector.explore(Engine.PRIM);
+            if (i % 10 != 0) assertNull(engine, "selection " + i);
+            else explored.add(engine);
+        }
+        // Kruskal has no samples, Borůvka one: they take turns once Kruskal has caught up
+        assertEquals(List.of(Engine.KRUSKAL, Engine.KRUSKAL, Engine.BORUVKA, Engine.KRUSKAL), explored);
+    }
+
+    private static String row(int V, int E, String algorithm, long ops, double ms) {
+        return String.format(Locale.ROOT, "%d,%d,1,0.0000,%s,%d,%.3f\n", V, E, algorithm, ops, ms);
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class MSTServerTest {
+
+    private static final String GRAPH = "{\"id\": 4, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1.5},"
+            + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2.0},"
+            + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 4.0}]}";
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("Socket requests get per-graph results, errors and latency stats")
+    void testSocketRequests() throws Exception {
+        try (MSTServer server = new MSTServer(0, null, true, 1)) {
+            server.start();
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                out.println(GRAPH);
+                JsonObject result = JsonParser.parseString(in.readLine()).getAsJsonObject();
+                assertEquals(4, result.get("graph_id").getAsInt());
+                assertEquals(3.5, result.getAsJsonObject("prim").get("total_cost").getAsDouble(), 1e-12);
+                assertEquals(3.5, result.getAsJsonObject("boruvka").get("total_cost").getAsDouble(), 1e-12);
+                assertTrue(result.getAsJsonObject("kruskal").get("verified").getAsBoolean());
+                assertEquals("A", result.getAsJsonObject("prim").getAsJsonArray("mst_edges")
+                        .get(0).getAsJsonObject().get("from").getAsString());
+                assertTrue(result.get("latency_ms").getAsDouble() > 0);
+
+                out.println("{\"id\": 5, \"edges\": []}");
+                assertTrue(JsonParser.parseString(in.readLine()).getAsJsonObject().has("error"));
+
+                out.println(GRAPH);
+                in.readLine();
+                out.println("STATS");
+                JsonObject stats = JsonParser.parseString(in.readLine()).getAsJsonObject();
+                assertEquals(2, stats.get("requests").getAsLong(), "failed requests are not timed");
+                assertTrue(stats.get("p50_ms").getAsDouble() <= stats.get("p99_ms").getAsDouble());
+                assertTrue(stats.get("p99_ms").getAsDouble() <= stats.get("max_ms").getAsDouble());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Datasets moved into the spool directory are processed and filed")
+    void testSpoolDirectory() throws Exception {
+        Path spool = tmp.resolve("spool");
+        Files.createDirectories(spool);
+        try (MSTServer server = new MSTServer(0, spool, false, 0)) {
+            server.start();
+            Path staged = Files.writeString(tmp.resolve("jobs.json"), "{\"graphs\": [" + GRAPH + "]}");
+            Files.move(staged, spool.resolve("jobs.json"));
+
+            Path done = spool.resolve("done").resolve("jobs.json");
+            for (int i = 0; i < 200 && !Files.exists(done); i++) Thread.sleep(50);
+            assertTrue(Files.exists(done), "dataset was not processed");
+
+            JsonObject output = JsonParser.parseString(Files.readString(spool.resolve("out").resolve("jobs_output.json")))
+                    .getAsJsonObject();
+            assertEquals(3.5, output.getAsJsonArray("results").get(0).getAsJsonObject()
+                    .getAsJsonObject("kruskal").get("total_cost").getAsDouble(), 1e-12);
+            assertEquals(4, Files.readAllLines(spool.resolve("out").resolve("jobs_summary.csv")).size(),
+                    "header and one row per algorithm");
+        }
+    }
+}
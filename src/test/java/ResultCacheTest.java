@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import algo.MSTMetrics.Phase;
+import algo.PrimMST;
+import edu.princeton.cs.algs4.Edge;
+import io.AlgorithmResult;
+import io.GraphInput;
+import io.GraphResult;
+import io.ResultCache;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path tmp;
+
+    private static CsrGraph triangle(double heavy) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(3);
+        builder.addEdge(0, 1, 1.5);
+        builder.addEdge(1, 2, 2.0);
+        builder.addEdge(0, 2, heavy);
+        return builder.build();
+    }
+
+    @Test
+    @DisplayName("Cached results survive a restart and are keyed by content and parameters")
+    void testRoundTrip() throws Exception {
+        CsrGraph G = triangle(4.0);
+        CountingMetrics metrics = new CountingMetrics();
+        PrimMST prim = new PrimMST(G, PrimMST.Heap.AUTO, metrics);
+        metrics.phase(Phase.GREEDY, 3_000_000L);
+        AlgorithmResult result = new AlgorithmResult("prim", prim.edges(), prim.weight(),
+                prim.getOperationCount(), 0.75, true, metrics);
+
+        String key = ResultCache.key(ResultCache.digest(G), "prim", "heap=AUTO");
+        new ResultCache(tmp, ResultCache.DEFAULT_MAX_BYTES).put(key, result);
+
+        ResultCache cache = new ResultCache(tmp, ResultCache.DEFAULT_MAX_BYTES);
+        assertEquals(1, cache.size());
+        AlgorithmResult hit = cache.get(key);
+        assertNotNull(hit);
+        assertTrue(hit.cached());
+        assertEquals(3.5, hit.totalCost(), 1e-12);
+        assertEquals(prim.getOperationCount(), hit.operationsCount());
+        assertEquals(0.75, hit.executionTimeMs(), 1e-12);
+        assertTrue(hit.verified());
+        assertEquals(metrics.heapInserts(), hit.metrics().heapInserts());
+        assertEquals(metrics.phaseMillis(Phase.GREEDY), hit.metrics().phaseMillis(Phase.GREEDY), 1e-9);
+        int n = 0;
+        for (Edge ignored : hit.mstEdges()) n++;
+        assertEquals(2, n);
+
+        // same content under a different weight, or different parameters, is a different entry
+        assertNull(cache.get(ResultCache.key(ResultCache.digest(triangle(4.5)), "prim", "heap=AUTO")));
+        assertNull(cache.get(ResultCache.key(ResultCache.digest(G), "prim", "heap=BINARY")));
+        assertEquals(key, ResultCache.key(ResultCache.digest(triangle(4.0)), "prim", "heap=AUTO"));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    @DisplayName("Least recently used entries are evicted beyond the size bound")
+    void testEviction() throws Exception {
+        CsrGraph G = triangle(4.0);
+        PrimMST prim = new PrimMST(G);
+        AlgorithmResult result = new AlgorithmResult("prim", prim.edges(), prim.weight(),
+                prim.getOperationCount(), 0.1, null, null);
+        byte[] digest = ResultCache.digest(G);
+
+        ResultCache probe = new ResultCache(tmp.resolve("probe"), ResultCache.DEFAULT_MAX_BYTES);
+        probe.put("x", result);
+        long entryBytes = probe.bytes();
+
+        ResultCache cache = new ResultCache(tmp.resolve("lru"), 3 * entryBytes);
+        String a = ResultCache.key(digest, "a", ""), b = ResultCache.key(digest, "b", "");
+        String c = ResultCache.key(digest, "c", ""), d = ResultCache.key(digest, "d", "");
+        cache.put(a, result);
+        cache.put(b, result);
+        cache.put(c, result);
+        assertNotNull(cache.get(a));   // a is now more recent than b
+        cache.put(d, result);
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.bytes() <= 3 * entryBytes);
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(a));
+        assertNotNull(cache.get(c));
+        assertNotNull(cache.get(d));
+    }
+
+    @Test
+    @DisplayName("Cache hits report this run's load, build and reorder times")
+    void testHitKeepsCurrentLoadPhases() throws Exception {
+        CsrGraph G = triangle(4.0);
+        String[] labels = {"A", "B", "C"};
+        ResultCache cache = new ResultCache(tmp, ResultCache.DEFAULT_MAX_BYTES);
+        GraphInput first = new GraphInput(1, labels, G, 9_000_000L, 8_000_000L, 7_000_000L);
+        GraphResult fresh = Main.processGraph("t", first, false, ProcessOptions.NONE.withCache(cache));
+
+        GraphInput second = new GraphInput(1, labels, G, 1_000_000L, 2_000_000L, 0L);
+        GraphResult reused = Main.processGraph("t", second, false, ProcessOptions.NONE.withCache(cache));
+
+        assertEquals(fresh.algorithms().size(), reused.algorithms().size());
+        for (int i = 0; i < reused.algorithms().size(); i++) {
+            AlgorithmResult before = fresh.algorithms().get(i), hit = reused.algorithms().get(i);
+            assertTrue(hit.cached(), hit.name());
+            if (hit.metrics() == null) continue;
+            assertEquals(1.0, hit.metrics().phaseMillis(Phase.LOAD), 1e-9, hit.name());
+            assertEquals(2.0, hit.metrics().phaseMillis(Phase.BUILD), 1e-9, hit.name());
+            assertEquals(0.0, hit.metrics().phaseMillis(Phase.REORDER), 1e-9, hit.name());
+            assertEquals(before.metrics().phaseMillis(Phase.GREEDY), hit.metrics().phaseMillis(Phase.GREEDY), 1e-9);
+        }
+    }
+}
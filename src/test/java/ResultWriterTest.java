@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import algo.KruskalMST;
+import io.AlgorithmResult;
+import io.GraphInput;
+import io.GraphResult;
+import io.ResultWriter;
+
+public class ResultWriterTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("Writer streams one JSON file per dataset and one CSV row per algorithm")
+    void testStreamsResults() throws Exception {
+        CsrGraph.Builder builder = new CsrGraph.Builder(3);
+        builder.addEdge(0, 1, 1.5);
+        builder.addEdge(1, 2, 2.0);
+        builder.addEdge(0, 2, 4.0);
+        GraphInput input = new GraphInput(7, new String[]{"A", "B", "C"}, builder.build());
+
+        KruskalMST mst = new KruskalMST(input.graph());
+        AlgorithmResult withMetrics = new AlgorithmResult("kruskal", mst.edges(), mst.weight(),
+                mst.getOperationCount(), 0.5, true, new CountingMetrics());
+        AlgorithmResult plain = new AlgorithmResult("boruvka", mst.edges(), mst.weight(),
+                mst.getOperationCount(), 0.25, null, null);
+
+        Path csv = tmp.resolve("summary.csv");
+        try (ResultWriter writer = new ResultWriter(tmp, csv)) {
+            writer.beginDataset("one");
+            writer.write(new GraphResult("one", input, List.of(withMetrics, plain)));
+            writer.write(new GraphResult("one", input, List.of(plain)));
+            writer.beginDataset("two");   // closes "one"
+        }
+
+        JsonArray results = JsonParser.parseString(Files.readString(tmp.resolve("one_output.json")))
+                .getAsJsonObject().getAsJsonArray("results");
+        assertEquals(2, results.size());
+        JsonObject kruskal = results.get(0).getAsJsonObject().getAsJsonObject("kruskal");
+        assertEquals(3.5, kruskal.get("total_cost").getAsDouble(), 1e-12);
+        assertEquals("A", kruskal.getAsJsonArray("mst_edges").get(0).getAsJsonObject().get("from").getAsString());
+        assertTrue(kruskal.get("verified").getAsBoolean());
+        assertTrue(kruskal.has("metrics"));
+        JsonObject boruvka = results.get(0).getAsJsonObject().getAsJsonObject("boruvka");
+        assertFalse(boruvka.has("verified"));
+        assertFalse(boruvka.has("metrics"));
+        assertEquals(0, JsonParser.parseString(Files.readString(tmp.resolve("two_output.json")))
+                .getAsJsonObject().getAsJsonArray("results").size());
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals(ResultWriter.CSV_HEADER, rows.get(0));
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(1).startsWith("one,7,3,3,kruskal,"));
+        assertEquals(ResultWriter.CSV_HEADER.split(",").length, rows.get(2).split(",").length);
+    }
+}
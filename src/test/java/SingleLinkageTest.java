@@ -0,0 +1,119 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import algo.CountingMetrics;
+import algo.CsrGraph;
+import algo.SingleLinkage;
+import algo.UnionFind;
+
+public class SingleLinkageTest {
+
+    // a sparse random graph with several components and repeated weights
+    private static CsrGraph randomGraph(long seed, int V, int E) {
+        Random random = new Random(seed);
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < E; i++) builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(50));
+        return builder.build();
+    }
+
+    // clusters joined by edges of weight at most t, numbered by smallest vertex
+    private static int[] componentsAtMost(CsrGraph G, double t) {
+        UnionFind uf = new UnionFind(G.V());
+        for (int e = 0; e < G.E(); e++) if (G.weight(e) <= t) uf.union(G.from(e), G.to(e));
+        int[] label = new int[G.V()], byRoot = new int[G.V()];
+        Arrays.fill(byRoot, -1);
+        int next = 0;
+        for (int v = 0; v < G.V(); v++) {
+            int r = uf.find(v);
+            if (byRoot[r] < 0) byRoot[r] = next++;
+            label[v] = byRoot[r];
+        }
+        return label;
+    }
+
+    @Test
+    @DisplayName("Stopping at k clusters matches the MST with its k - 1 heaviest edges cut")
+    void testStopsAtKClusters() {
+        CsrGraph G = randomGraph(31, 200, 600);
+        SingleLinkage full = new SingleLinkage(G, 1);
+        int components = full.clusters();
+        assertTrue(components > 1, "the test graph should be disconnected");
+
+        for (int k : new int[]{components, components + 1, 10 + components, 199, 200}) {
+            SingleLinkage clustering = new SingleLinkage(G, k);
+            assertEquals(k, clustering.clusters());
+            int[] assignment = clustering.assignment();
+            assertEquals(k, Arrays.stream(assignment).max().getAsInt() + 1);
+
+            // the first V - k merges of the full dendrogram give the same partition
+            UnionFind uf = new UnionFind(G.V());
+            for (int i = 0; i < G.V() - k; i++) uf.union(G.from(full.edge(i)), G.to(full.edge(i)));
+            for (int v = 0; v < G.V(); v++)
+                for (int w = v + 1; w < G.V(); w++)
+                    assertEquals(uf.find(v) == uf.find(w), assignment[v] == assignment[w], "vertices " + v + ", " + w);
+        }
+
+        // fewer clusters than components: one per component
+        assertEquals(components, new SingleLinkage(G, 1).clusters());
+        assertThrows(IllegalArgumentException.class, () -> new SingleLinkage(G, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SingleLinkage(G, 201));
+    }
+
+    @Test
+    @DisplayName("Threshold stop and threshold sweeps match components of the light edges")
+    void testThresholds() {
+        CsrGraph G = randomGraph(37, 300, 700);
+        double[] thresholds = {-1, 0, 5, 12.5, 20, 35, 49, 100};
+        SingleLinkage full = new SingleLinkage(G, 1);
+        int[][] swept = full.assignmentsAt(thresholds);
+        for (int j = 0; j < thresholds.length; j++) {
+            int[] expected = componentsAtMost(G, thresholds[j]);
+            assertArrayEquals(expected, swept[j], "sweep at " + thresholds[j]);
+            CountingMetrics metrics = new CountingMetrics();
+            SingleLinkage clustering = new SingleLinkage(G, 1, thresholds[j], metrics);
+            assertArrayEquals(expected, clustering.assignment(), "stop at " + thresholds[j]);
+            assertEquals(clustering.merges(), metrics.unions());
+            for (int i = 0; i < clustering.merges(); i++) assertTrue(clustering.height(i) <= thresholds[j]);
+        }
+
+        // a clustering stopped at a threshold cannot be cut above it, nor at fewer clusters than it reached
+        SingleLinkage partial = new SingleLinkage(G, 1, 20, null);
+        assertArrayEquals(componentsAtMost(G, 12.5), partial.assignmentsAt(12.5)[0]);
+        assertThrows(IllegalArgumentException.class, () -> partial.assignmentsAt(21));
+        assertThrows(IllegalArgumentException.class, () -> partial.assignments(1));
+    }
+
+    @Test
+    @DisplayName("A k sweep from one dendrogram matches separate runs")
+    void testSweepAndDendrogram() {
+        CsrGraph G = randomGraph(41, 250, 1200);
+        SingleLinkage full = new SingleLinkage(G, 1);
+        int[] ks = {250, 3, 40, full.clusters(), 100, 1};
+        int[][] swept = full.assignments(ks);
+        for (int j = 0; j < ks.length; j++) {
+            int k = Math.max(ks[j], full.clusters());
+            assertArrayEquals(new SingleLinkage(G, k).assignment(), swept[j], "k = " + ks[j]);
+        }
+
+        // a run stopped at k can still be cut into more clusters, never fewer
+        SingleLinkage stopped = new SingleLinkage(G, 40);
+        assertArrayEquals(new SingleLinkage(G, 100).assignment(), stopped.assignments(100)[0]);
+        assertThrows(IllegalArgumentException.class, () -> stopped.assignments(39));
+
+        // dendrogram: heights non-decreasing, every node joined once, children created earlier
+        boolean[] used = new boolean[G.V() + full.merges()];
+        for (int i = 0; i < full.merges(); i++) {
+            if (i > 0) assertTrue(full.height(i - 1) <= full.height(i));
+            for (int child : new int[]{full.left(i), full.right(i)}) {
+                assertTrue(child < G.V() + i);
+                assertFalse(used[child]);
+                used[child] = true;
+            }
+            assertEquals(G.weight(full.edge(i)), full.height(i));
+        }
+    }
+}